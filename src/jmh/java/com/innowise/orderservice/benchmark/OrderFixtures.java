@@ -0,0 +1,129 @@
+package com.innowise.orderservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.client.getCardInfoDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
+import com.innowise.orderservice.core.dao.projection.OrderItemRow;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderItem;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.mapper.itemmapper.GetItemMapperImpl;
+import com.innowise.orderservice.core.mapper.order.GetOrderDtoWithoutUserMapper;
+import com.innowise.orderservice.core.mapper.order.GetOrderDtoWithoutUserMapperImpl;
+import com.innowise.orderservice.core.mapper.order.OrderItemRowAssembler;
+import com.innowise.orderservice.core.mapper.order.OrderSnapshot;
+import com.innowise.orderservice.core.mapper.order.OrderUserJoin;
+import com.innowise.orderservice.core.mapper.orderitemmapper.GetOrderItemMapper;
+import com.innowise.orderservice.core.mapper.orderitemmapper.GetOrderItemMapperImpl;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * A page of {@code orders} orders with {@code items} lines each, in every
+ * shape the read path produces: entities, flat rows, snapshots and final
+ * DTOs. Users repeat every {@value #DISTINCT_USERS} orders, as they do on
+ * listing pages.
+ */
+@State(Scope.Benchmark)
+public class OrderFixtures {
+
+    private static final int DISTINCT_USERS = 50;
+    private static final int CATALOG_SIZE = 500;
+
+    @Param({"1", "20", "1000"})
+    public int orders;
+
+    @Param({"1", "20", "200"})
+    public int items;
+
+    GetOrderDtoWithoutUserMapper orderMapper;
+    GetOrderItemMapper orderItemMapper;
+    OrderItemRowAssembler rowAssembler;
+    ObjectMapper objectMapper;
+
+    List<Order> entities;
+    List<Long> orderIds;
+    List<OrderItemRow> rows;
+    List<OrderSnapshot> snapshots;
+    List<GetUserDto> users;
+    List<List<GetOrderItemDto>> orderItemDtos;
+    Page<GetOrderDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GetItemMapperImpl itemMapper = new GetItemMapperImpl();
+        orderItemMapper = new GetOrderItemMapperImpl();
+        ReflectionTestUtils.setField(orderItemMapper, "getItemMapper", itemMapper);
+        orderMapper = new GetOrderDtoWithoutUserMapperImpl();
+        ReflectionTestUtils.setField(orderMapper, "getOrderItemMapper", orderItemMapper);
+        rowAssembler = new OrderItemRowAssembler();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        List<Item> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (long i = 1; i <= CATALOG_SIZE; i++) {
+            catalog.add(new Item(i, "Item " + i, BigDecimal.valueOf(i * 137, 2), 0L));
+        }
+
+        entities = new ArrayList<>(orders);
+        orderIds = new ArrayList<>(orders);
+        rows = new ArrayList<>(orders * items);
+        users = new ArrayList<>();
+        long orderItemId = 1;
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            Order order = new Order();
+            order.setId(orderId);
+            order.setUserId(orderId % DISTINCT_USERS + 1);
+            order.setStatus(Status.CREATED);
+            order.setCreationDate(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(orderId));
+            order.setVersion(0L);
+
+            for (int line = 0; line < items; line++) {
+                Item item = catalog.get((int) ((orderId * 31 + line) % CATALOG_SIZE));
+                OrderItem orderItem = new OrderItem();
+                orderItem.setId(orderItemId++);
+                orderItem.setQuantity(line % 5 + 1);
+                orderItem.setItem(item);
+                orderItem.setOrder(order);
+                order.getOrderItems().add(orderItem);
+
+                rows.add(new OrderItemRow(order.getId(), order.getStatus(), order.getCreationDate(),
+                    order.getUserId(), order.getVersion(), orderItem.getId(), orderItem.getQuantity(),
+                    item.getId(), item.getName(), item.getPrice(), item.getVersion()));
+            }
+
+            entities.add(order);
+            orderIds.add(orderId);
+        }
+
+        for (long userId : entities.stream().map(Order::getUserId).distinct().toList()) {
+            users.add(new GetUserDto(userId, "Name " + userId, "Surname " + userId,
+                LocalDate.of(1990, 1, 1), "user" + userId + "@mail.com",
+                List.of(new getCardInfoDto(userId, "4111111111111111", "12/30"))));
+        }
+
+        snapshots = rowAssembler.assemble(orderIds, rows);
+        orderItemDtos = entities.stream()
+            .map(order -> orderItemMapper.toDtos(order.getOrderItems()))
+            .toList();
+        page = new PageImpl<>(OrderUserJoin.join(snapshots, users), PageRequest.of(0, orders), orders * 10L);
+    }
+}
@@ -0,0 +1,68 @@
+package com.innowise.orderservice.benchmark;
+
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.mapper.order.OrderSnapshot;
+import com.innowise.orderservice.core.mapper.order.OrderUserJoin;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost per page of each step between loaded rows and the response DTOs.
+ * Divide by {@code orders} for a per-order figure; run with {@code -prof gc}
+ * for {@code gc.alloc.rate.norm} (bytes per operation).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    /** {@code GetOrderDtoWithoutUserMapper} over managed-style entities, as on the single-order path. */
+    @Benchmark
+    public List<GetOrderDtoWithoutUser> mapOrderEntities(OrderFixtures fixtures) {
+        return fixtures.orderMapper.toDtos(fixtures.entities);
+    }
+
+    /** {@code GetOrderItemMapper} alone, into lists, without the set building. */
+    @Benchmark
+    public void mapOrderItems(OrderFixtures fixtures, Blackhole blackhole) {
+        for (Order order : fixtures.entities) {
+            blackhole.consume(fixtures.orderItemMapper.toDtos(order.getOrderItems()));
+        }
+    }
+
+    /** Hashing already mapped lines into {@code Set<GetOrderItemDto>}. */
+    @Benchmark
+    public void collectOrderItemSets(OrderFixtures fixtures, Blackhole blackhole) {
+        for (List<GetOrderItemDto> orderItems : fixtures.orderItemDtos) {
+            Set<GetOrderItemDto> set = new HashSet<>(orderItems);
+            blackhole.consume(set);
+        }
+    }
+
+    /** {@code OrderItemRowAssembler} over flat rows, as on the listing paths. */
+    @Benchmark
+    public List<OrderSnapshot> assembleRows(OrderFixtures fixtures) {
+        return fixtures.rowAssembler.assemble(fixtures.orderIds, fixtures.rows);
+    }
+
+    /** The {@code toMap} join of snapshots with the users fetched for them. */
+    @Benchmark
+    public List<GetOrderDto> joinUsers(OrderFixtures fixtures) {
+        return OrderUserJoin.join(fixtures.snapshots, fixtures.users);
+    }
+}
@@ -0,0 +1,28 @@
+package com.innowise.orderservice.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson serialisation of a {@code Page<GetOrderDto>} as returned by the
+ * listing endpoints, with the same date handling as the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Benchmark
+    public byte[] serializePage(OrderFixtures fixtures) throws JsonProcessingException {
+        return fixtures.objectMapper.writeValueAsBytes(fixtures.page);
+    }
+}
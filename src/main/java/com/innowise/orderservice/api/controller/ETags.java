@@ -0,0 +1,46 @@
+package com.innowise.orderservice.api.controller;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Weak entity tags built from an entity's {@code @Version}. The version only
+ * changes with the entity's own columns, not with the item or user data a
+ * response embeds, so the tag promises semantic equivalence of those columns
+ * rather than a byte-identical body.
+ */
+final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return WEAK_PREFIX + "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or {@code null}
+     * when the header is absent or {@code *}. The tag is used as a version
+     * token, so both {@code W/"v"} and {@code "v"} are accepted; foreign tags
+     * fail the precondition.
+     */
+    static Long requiredVersion(String ifMatch, Class<?> entityClass, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // not one of ours
+            }
+        }
+        throw new ObjectOptimisticLockingFailureException(entityClass, id);
+    }
+}
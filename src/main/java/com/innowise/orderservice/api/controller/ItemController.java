@@ -2,10 +2,12 @@ package com.innowise.orderservice.api.controller;
 
 import com.innowise.orderservice.api.dto.item.CreateItemDto;
 import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,10 +35,16 @@ public class ItemController {
         return new ResponseEntity<>(getItemDto, HttpStatus.CREATED);
     }
 
+    /**
+     * Items are served from the in-process catalog, so a matching
+     * If-None-Match is turned into a 304 by Spring MVC from the ETag alone.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<GetItemDto> getItemById(@PathVariable Long id) {
         GetItemDto getItemDto = itemService.getItemById(id);
-        return new ResponseEntity<>(getItemDto, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .eTag(ETags.of(getItemDto.version()))
+            .body(getItemDto);
     }
 
     @GetMapping
@@ -46,10 +55,16 @@ public class ItemController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<GetItemDto> update(@PathVariable Long id,
-                                             @RequestBody CreateItemDto item) {
-        GetItemDto getItemDto = itemService.updateItem(id, item);
-        return new ResponseEntity<>(getItemDto, HttpStatus.OK);
+    public ResponseEntity<GetItemDto> update(
+        @PathVariable Long id,
+        @RequestBody CreateItemDto item,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Long expectedVersion = ETags.requiredVersion(ifMatch, Item.class, id);
+        GetItemDto getItemDto = itemService.updateItem(id, item, expectedVersion);
+        return ResponseEntity.ok()
+            .eTag(ETags.of(getItemDto.version()))
+            .body(getItemDto);
     }
 
     @DeleteMapping("/{id}")
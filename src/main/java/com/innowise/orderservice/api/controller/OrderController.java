@@ -1,32 +1,62 @@
 package com.innowise.orderservice.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.api.dto.GetCountedPageDto;
+import com.innowise.orderservice.api.dto.GetCursorPageDto;
 import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderBatchResultDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderStatusBatchResultDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
+import com.innowise.orderservice.api.export.OrderExportFormat;
+import com.innowise.orderservice.api.export.OrderExportWriter;
+import com.innowise.orderservice.core.entity.Order;
 import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.pagination.CountMode;
 import com.innowise.orderservice.core.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/api/orders")
-@RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final Duration exportTimeout;
+
+    public OrderController(OrderService orderService,
+                           ObjectMapper objectMapper,
+                           @Value("${order.export.timeout:1h}") Duration exportTimeout) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.exportTimeout = exportTimeout;
+    }
 
     @PostMapping
     public ResponseEntity<GetOrderDto> createOrder(@Valid @RequestBody CreateOrderDto order) {
@@ -34,16 +64,93 @@ public class OrderController {
         return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<GetOrderBatchResultDto>> createOrders(@RequestBody List<CreateOrderDto> orders) {
+        List<GetOrderBatchResultDto> results = orderService.createOrders(orders);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @GetMapping
     public ResponseEntity<Page<GetOrderDto>> getAllOrders(Pageable pageable) {
         Page<GetOrderDto> orders = orderService.getAllOrders(pageable);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
+    /**
+     * Offset pages with an opt-in {@code count} mode: NONE skips the total,
+     * ESTIMATED asks the planner, EXACT reads the per-status order counts.
+     * The response names the mode used.
+     */
+    @GetMapping(params = {"count", "!cursor"})
+    public ResponseEntity<GetCountedPageDto<GetOrderDto>> getAllOrders(@RequestParam("count") CountMode count,
+                                                                       Pageable pageable) {
+        GetCountedPageDto<GetOrderDto> orders = orderService.getAllOrders(pageable, count);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getAllOrders(
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getAllOrders(cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    /**
+     * Streams all orders created in {@code [from, to)} as NDJSON or CSV,
+     * straight from a database cursor to the response. Only this request gets
+     * the long {@code order.export.timeout}; other async requests keep the
+     * default.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportOrders(
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(value = "format", defaultValue = "NDJSON") OrderExportFormat format,
+        HttpServletResponse response) {
+
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            response.setContentType(format.mediaType().toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("orders." + format.extension())
+                .build()
+                .toString());
+
+            OrderExportWriter writer = format.open(response.getOutputStream(), objectMapper);
+            try {
+                orderService.exportOrders(from, to, orders -> {
+                    try {
+                        writer.write(orders);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.finish();
+            return null;
+        });
+    }
+
+    /**
+     * A conditional GET is answered from the version column alone, without
+     * loading the order or calling user-service. The tag is weak: it changes
+     * with the order's own fields, not with embedded item or user data.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<GetOrderDto> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<GetOrderDto> getOrderById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            && request.checkNotModified(ETags.of(orderService.getOrderVersion(id)))) {
+            return null;
+        }
+
         GetOrderDto order = orderService.getOrderById(id);
-        return new ResponseEntity<>(order, HttpStatus.OK);
+        return ResponseEntity.ok()
+            .eTag(ETags.of(order.getOrderDtoWithoutUser().version()))
+            .body(order);
     }
 
     @GetMapping("/by-ids")
@@ -53,18 +160,113 @@ public class OrderController {
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/by-ids", params = {"count", "!cursor"})
+    public ResponseEntity<GetCountedPageDto<GetOrderDto>> getOrdersByIds(@RequestParam("ids") List<Long> ids,
+                                                                         @RequestParam("count") CountMode count,
+                                                                         Pageable pageable) {
+        GetCountedPageDto<GetOrderDto> orders = orderService.getOrdersByIds(ids, pageable, count);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/by-ids", params = "cursor")
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getOrdersByIds(
+        @RequestParam("ids") List<Long> ids,
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getOrdersByIds(ids, cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/by-status", params = "statuses")
+    public ResponseEntity<Page<GetOrderDto>> getOrdersByStatuses(@RequestParam("statuses") List<Status> statuses,
+                                                                 Pageable pageable) {
+        Page<GetOrderDto> orders = orderService.getOrdersByStatuses(statuses, pageable);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/by-status", params = {"statuses", "count", "!cursor"})
+    public ResponseEntity<GetCountedPageDto<GetOrderDto>> getOrdersByStatuses(
+        @RequestParam("statuses") List<Status> statuses,
+        @RequestParam("count") CountMode count,
+        Pageable pageable) {
+
+        GetCountedPageDto<GetOrderDto> orders = orderService.getOrdersByStatuses(statuses, pageable, count);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/by-status", params = {"statuses", "cursor"})
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getOrdersByStatuses(
+        @RequestParam("statuses") List<Status> statuses,
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getOrdersByStatuses(statuses, cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    /**
+     * Older form taking the statuses as a GET body, which proxies and HTTP
+     * caches may drop; use the {@code statuses} query parameter instead.
+     */
+    @Deprecated
     @GetMapping("/by-status")
-    public ResponseEntity<Page<GetOrderDto>> getOrdersByEmail(@RequestBody List<Status> statuses,
-                                                              Pageable pageable) {
+    public ResponseEntity<Page<GetOrderDto>> getOrdersByStatusesFromBody(@RequestBody List<Status> statuses,
+                                                                         Pageable pageable) {
         Page<GetOrderDto> orders = orderService.getOrdersByStatuses(statuses, pageable);
         return new ResponseEntity<>(orders, HttpStatus.OK);
     }
 
+    @Deprecated
+    @GetMapping(value = "/by-status", params = "cursor")
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getOrdersByStatusesFromBody(
+        @RequestBody List<Status> statuses,
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getOrdersByStatuses(statuses, cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping("/by-user/{userId}")
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getOrdersByUserId(
+        @PathVariable Long userId,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getOrdersByUserId(userId, cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
+    @GetMapping("/by-user")
+    public ResponseEntity<GetCursorPageDto<GetOrderDto>> getOrdersByUserEmail(
+        @RequestParam("email") String email,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        GetCursorPageDto<GetOrderDto> orders = orderService.getOrdersByUserEmail(email, cursor, size);
+        return new ResponseEntity<>(orders, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<GetOrderDto> updateOrder(@PathVariable Long id,
-                                                   @RequestParam("status") Status status) {
-        GetOrderDto order = orderService.getOrderById(id);
-        return new ResponseEntity<>(order, HttpStatus.OK);
+    public ResponseEntity<GetOrderDto> updateOrder(
+        @PathVariable Long id,
+        @RequestParam("status") Status status,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Long expectedVersion = ETags.requiredVersion(ifMatch, Order.class, id);
+        GetOrderDto order = orderService.updateOrderStatus(id, status, expectedVersion);
+        return ResponseEntity.ok()
+            .eTag(ETags.of(order.getOrderDtoWithoutUser().version()))
+            .body(order);
+    }
+
+    @PutMapping("/batch/status")
+    public ResponseEntity<GetOrderStatusBatchResultDto> updateOrderStatuses(
+        @Valid @RequestBody UpdateOrderStatusBatchDto updateOrderStatusBatchDto) {
+
+        GetOrderStatusBatchResultDto result = orderService.updateOrderStatuses(updateOrderStatusBatchDto);
+        return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,60 @@
+package com.innowise.orderservice.api.controller;
+
+import com.innowise.orderservice.api.dto.stats.GetDailyStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetItemStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetOrderStatsDto;
+import com.innowise.orderservice.core.service.OrderStatsService;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders/stats")
+@RequiredArgsConstructor
+public class OrderStatsController {
+
+    private final OrderStatsService orderStatsService;
+
+    @GetMapping
+    public ResponseEntity<GetOrderStatsDto> getOrderStats() {
+        GetOrderStatsDto stats = orderStatsService.getOrderStats();
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/daily")
+    public ResponseEntity<List<GetDailyStatsDto>> getDailyStats(@RequestParam("from") LocalDate from,
+                                                                @RequestParam("to") LocalDate to) {
+        List<GetDailyStatsDto> stats = orderStatsService.getDailyStats(from, to);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/items")
+    public ResponseEntity<Page<GetItemStatsDto>> getAllItemStats(Pageable pageable) {
+        Page<GetItemStatsDto> stats = orderStatsService.getAllItemStats(pageable);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/items/{itemId}")
+    public ResponseEntity<GetItemStatsDto> getItemStats(@PathVariable Long itemId) {
+        GetItemStatsDto stats = orderStatsService.getItemStats(itemId);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> reconcile() {
+        int corrected = orderStatsService.reconcile();
+        return new ResponseEntity<>(corrected, HttpStatus.OK);
+    }
+}
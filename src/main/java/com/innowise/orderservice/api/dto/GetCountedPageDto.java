@@ -0,0 +1,13 @@
+package com.innowise.orderservice.api.dto;
+
+import com.innowise.orderservice.core.pagination.CountMode;
+import java.util.List;
+
+public record GetCountedPageDto<T>(
+    List<T> content,
+    int page,
+    int size,
+    boolean hasNext,
+    Long totalElements,
+    CountMode countMode
+) {}
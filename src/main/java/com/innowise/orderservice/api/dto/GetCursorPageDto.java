@@ -0,0 +1,10 @@
+package com.innowise.orderservice.api.dto;
+
+import java.util.List;
+
+public record GetCursorPageDto<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {}
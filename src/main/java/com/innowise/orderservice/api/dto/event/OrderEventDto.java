@@ -0,0 +1,15 @@
+package com.innowise.orderservice.api.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.innowise.orderservice.core.entity.OrderEventType;
+import java.time.Instant;
+
+public record OrderEventDto (
+    Long id,
+    OrderEventType type,
+    Long orderId,
+    Instant createdAt,
+
+    @JsonRawValue
+    String payload
+) {}
@@ -1,9 +1,13 @@
 package com.innowise.orderservice.api.dto.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 
 public record GetItemDto (
     Long id,
     String name,
-    BigDecimal price
+    BigDecimal price,
+
+    @JsonIgnore
+    Long version
 ) {}
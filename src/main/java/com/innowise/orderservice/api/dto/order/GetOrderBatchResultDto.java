@@ -0,0 +1,8 @@
+package com.innowise.orderservice.api.dto.order;
+
+public record GetOrderBatchResultDto (
+    int index,
+    boolean created,
+    GetOrderDto order,
+    String error
+) {}
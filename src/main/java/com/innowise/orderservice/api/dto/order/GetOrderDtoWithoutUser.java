@@ -1,5 +1,6 @@
 package com.innowise.orderservice.api.dto.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.innowise.orderservice.api.client.GetUserDto;
 import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
 import com.innowise.orderservice.core.entity.Status;
@@ -10,5 +11,8 @@ public record GetOrderDtoWithoutUser (
     Long id,
     Status status,
     Instant creationDate,
-    Set<GetOrderItemDto> orderItems
+    Set<GetOrderItemDto> orderItems,
+
+    @JsonIgnore
+    Long version
 ) {}
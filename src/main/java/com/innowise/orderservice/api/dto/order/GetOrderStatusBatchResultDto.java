@@ -0,0 +1,6 @@
+package com.innowise.orderservice.api.dto.order;
+
+public record GetOrderStatusBatchResultDto (
+    int updated,
+    int skipped
+) {}
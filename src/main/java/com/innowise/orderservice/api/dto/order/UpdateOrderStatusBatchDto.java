@@ -0,0 +1,17 @@
+package com.innowise.orderservice.api.dto.order;
+
+import com.innowise.orderservice.core.entity.Status;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record UpdateOrderStatusBatchDto (
+    @Size(max = 10000, message = "Batch must not contain more than 10000 ids")
+    List<@NotNull(message = "Order ID must not be null") Long> ids,
+
+    @NotNull(message = "Current status must not be null")
+    Status fromStatus,
+
+    @NotNull(message = "Target status must not be null")
+    Status toStatus
+) {}
@@ -0,0 +1,12 @@
+package com.innowise.orderservice.api.dto.stats;
+
+import com.innowise.orderservice.core.entity.Status;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record GetDailyStatsDto (
+    LocalDate day,
+    Status status,
+    Long orderCount,
+    BigDecimal revenue
+) {}
@@ -0,0 +1,10 @@
+package com.innowise.orderservice.api.dto.stats;
+
+import java.math.BigDecimal;
+
+public record GetItemStatsDto (
+    Long itemId,
+    Long orderCount,
+    Long units,
+    BigDecimal revenue
+) {}
@@ -0,0 +1,10 @@
+package com.innowise.orderservice.api.dto.stats;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record GetOrderStatsDto (
+    Long orderCount,
+    BigDecimal revenue,
+    List<GetStatusStatsDto> statuses
+) {}
@@ -0,0 +1,10 @@
+package com.innowise.orderservice.api.dto.stats;
+
+import com.innowise.orderservice.core.entity.Status;
+import java.math.BigDecimal;
+
+public record GetStatusStatsDto (
+    Status status,
+    Long orderCount,
+    BigDecimal revenue
+) {}
@@ -0,0 +1,100 @@
+package com.innowise.orderservice.api.export;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * One row per order line (RFC 4180); an order without lines still gets one
+ * row with empty item columns. Text that a spreadsheet would read as a
+ * formula is prefixed with {@code '}.
+ */
+class CsvOrderExportWriter implements OrderExportWriter {
+
+    private static final String HEADER = "order_id,status,creation_date,user_id,user_email,"
+        + "order_item_id,item_id,item_name,item_price,quantity";
+
+    private final Writer writer;
+
+    CsvOrderExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.writer.write(HEADER);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void write(List<GetOrderDto> orders) throws IOException {
+        for (GetOrderDto order : orders) {
+            GetOrderDtoWithoutUser details = order.getOrderDtoWithoutUser();
+            if (details.orderItems().isEmpty()) {
+                writeRow(details, order.getUserDto(), null);
+            }
+            for (GetOrderItemDto orderItem : details.orderItems()) {
+                writeRow(details, order.getUserDto(), orderItem);
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(GetOrderDtoWithoutUser order, GetUserDto user, GetOrderItemDto orderItem)
+        throws IOException {
+
+        writeFields(
+            order.id(),
+            order.status(),
+            order.creationDate(),
+            user != null ? user.id() : null,
+            user != null ? user.email() : null,
+            orderItem != null ? orderItem.id() : null,
+            orderItem != null ? orderItem.item().id() : null,
+            orderItem != null ? orderItem.item().name() : null,
+            orderItem != null ? orderItem.item().price() : null,
+            orderItem != null ? orderItem.quantity() : null
+        );
+    }
+
+    private void writeFields(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] instanceof String text) {
+                writer.write(escape(neutralize(text)));
+            } else if (fields[i] != null) {
+                writer.write(escape(fields[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String neutralize(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        return switch (text.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + text;
+            default -> text;
+        };
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+            && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
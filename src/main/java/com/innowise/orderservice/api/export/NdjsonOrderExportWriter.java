@@ -0,0 +1,37 @@
+package com.innowise.orderservice.api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * One order per line, in the same JSON shape as {@code GET /api/orders/{id}}.
+ */
+class NdjsonOrderExportWriter implements OrderExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonOrderExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory()
+            .createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(List<GetOrderDto> orders) throws IOException {
+        for (GetOrderDto order : orders) {
+            generator.writeObject(order);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,41 @@
+package com.innowise.orderservice.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.http.MediaType;
+
+public enum OrderExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson") {
+        @Override
+        public OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonOrderExportWriter(out, objectMapper);
+        }
+    },
+
+    CSV(MediaType.parseMediaType("text/csv"), "csv") {
+        @Override
+        public OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new CsvOrderExportWriter(out);
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    OrderExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public abstract OrderExportWriter open(OutputStream out, ObjectMapper objectMapper) throws IOException;
+}
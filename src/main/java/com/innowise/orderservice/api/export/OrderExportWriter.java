@@ -0,0 +1,17 @@
+package com.innowise.orderservice.api.export;
+
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes exported orders to a response body chunk by chunk. Nothing is
+ * buffered beyond the underlying stream, and each chunk is flushed so the
+ * client sees progress.
+ */
+public interface OrderExportWriter {
+
+    void write(List<GetOrderDto> orders) throws IOException;
+
+    void finish() throws IOException;
+}
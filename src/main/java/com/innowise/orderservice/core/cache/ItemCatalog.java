@@ -0,0 +1,126 @@
+package com.innowise.orderservice.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.mapper.itemmapper.GetItemMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded read-through cache of item snapshots keyed by item id. Writers
+ * invalidate after their transaction commits; every invalidation bumps a
+ * generation counter, and a load only populates the cache if no invalidation
+ * happened while it was reading, so a read that raced an update can never
+ * leave the old row cached.
+ */
+@Component
+public class ItemCatalog {
+
+    private final ItemRepository itemRepository;
+    private final GetItemMapper getItemMapper;
+    private final Cache<Long, GetItemDto> items;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemCatalog(ItemRepository itemRepository,
+                       GetItemMapper getItemMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${item.cache.ttl:10m}") Duration ttl,
+                       @Value("${item.cache.maximum-size:10000}") long maximumSize) {
+        this.itemRepository = itemRepository;
+        this.getItemMapper = getItemMapper;
+        this.items = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+    }
+
+    public GetItemDto get(Long id) {
+        GetItemDto cached = items.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        GetItemDto item = itemRepository.findById(id)
+            .map(getItemMapper::toDto)
+            .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
+        cache(item, loadedAt);
+        return item;
+    }
+
+    /**
+     * Returns the items that exist among {@code ids}; misses are loaded with a
+     * single query.
+     */
+    public Map<Long, GetItemDto> getAll(Collection<Long> ids) {
+        Map<Long, GetItemDto> result = new HashMap<>(items.getAllPresent(ids));
+
+        Set<Long> missingIds = new HashSet<>(ids);
+        missingIds.removeAll(result.keySet());
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+
+        long loadedAt = generation.get();
+        itemRepository.findAllById(missingIds).forEach(entity -> {
+            GetItemDto item = getItemMapper.toDto(entity);
+            cache(item, loadedAt);
+            result.put(item.id(), item);
+        });
+        return result;
+    }
+
+    public void putAll(List<GetItemDto> loaded, long loadedAt) {
+        loaded.forEach(item -> cache(item, loadedAt));
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidateAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id);
+            }
+        });
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        items.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        items.invalidateAll();
+    }
+
+    private void cache(GetItemDto item, long loadedAt) {
+        items.asMap().compute(item.id(), (id, current) -> generation.get() == loadedAt ? item : current);
+    }
+}
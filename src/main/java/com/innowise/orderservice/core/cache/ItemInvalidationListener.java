@@ -0,0 +1,229 @@
+package com.innowise.orderservice.core.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies item invalidations published by every instance. A trigger on
+ * {@code items} journals each update or delete in {@code item_invalidations}
+ * and sends its journal id on the {@value #CHANNEL} channel; this listener
+ * holds a dedicated connection (outside the pool, which would recycle it)
+ * that LISTENs on the channel and evicts the item from {@link ItemCatalog}.
+ * After a reconnect the journal is replayed from the last id seen, so
+ * notifications sent while the listener was offline are not lost.
+ */
+@Component
+@ConditionalOnProperty(name = "item.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class ItemInvalidationListener {
+
+    static final String CHANNEL = "item_invalidation";
+    static final String APPLICATION_NAME = "order-service-item-invalidation";
+
+    // Journal ids are taken before commit, so a slow transaction can publish an
+    // id lower than one already seen; replay starts this far behind.
+    private static final long REPLAY_OVERLAP = 1000;
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemInvalidationListener.class);
+
+    private final ItemCatalog itemCatalog;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Duration heartbeat;
+    private final Duration retention;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private volatile Connection connection;
+    private long lastSeenId = -1;
+
+    public ItemInvalidationListener(ItemCatalog itemCatalog,
+                                    DataSourceProperties dataSourceProperties,
+                                    @Value("${item.invalidation.poll-timeout:500ms}") Duration pollTimeout,
+                                    @Value("${item.invalidation.reconnect-delay:1s}") Duration reconnectDelay,
+                                    @Value("${item.invalidation.heartbeat:10s}") Duration heartbeat,
+                                    @Value("${item.invalidation.retention:1d}") Duration retention) {
+        this.itemCatalog = itemCatalog;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.heartbeat = heartbeat;
+        this.retention = retention;
+        this.worker = new Thread(this::run, "item-invalidation-listener");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (DatabaseDriver.fromJdbcUrl(dataSourceProperties.determineUrl()) != DatabaseDriver.POSTGRESQL) {
+            logger.info("Item invalidation listener is disabled: the datasource is not PostgreSQL");
+            return;
+        }
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        closeQuietly(connection);
+        worker.join(reconnectDelay.plus(pollTimeout).toMillis());
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                this.connection = connection;
+                listen(connection);
+            } catch (SQLException ex) {
+                if (running) {
+                    logger.warn("Item invalidation listener lost its connection, reconnecting in {}",
+                        reconnectDelay, ex);
+                }
+            }
+
+            try {
+                Thread.sleep(reconnectDelay.toMillis());
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        catchUp(connection);
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        Instant nextHeartbeat = Instant.now().plus(heartbeat);
+        Instant nextPrune = Instant.now();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    apply(notification.getParameter());
+                }
+            }
+
+            Instant now = Instant.now();
+            if (now.isAfter(nextPrune)) {
+                prune(connection);
+                nextPrune = now.plus(PRUNE_INTERVAL);
+                nextHeartbeat = now.plus(heartbeat);
+            } else if (now.isAfter(nextHeartbeat)) {
+                // getNotifications only reads what has arrived, so a dead peer
+                // goes unnoticed until something is written to the socket
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                nextHeartbeat = now.plus(heartbeat);
+            }
+        }
+    }
+
+    /**
+     * Replays invalidations journaled since the last id seen. On the first
+     * connection there is nothing to replay, but entries may have been cached
+     * before LISTEN took effect, so the catalog is cleared instead.
+     */
+    private void catchUp(Connection connection) throws SQLException {
+        if (lastSeenId < 0) {
+            lastSeenId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM item_invalidations");
+            itemCatalog.invalidateAll();
+            return;
+        }
+
+        long oldest = queryLong(connection, "SELECT COALESCE(MIN(id), 0) FROM item_invalidations");
+        if (oldest == 0 || oldest > lastSeenId + 1) {
+            // the journal was pruned past the last id seen, so what was missed is unknown
+            logger.warn("Item invalidation journal no longer covers id {}, clearing the item cache",
+                lastSeenId);
+            itemCatalog.invalidateAll();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+            "SELECT id, item_id FROM item_invalidations WHERE id > ? ORDER BY id")) {
+            statement.setLong(1, Math.max(lastSeenId - REPLAY_OVERLAP, 0));
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    invalidate(rows.getLong(1), rows.getLong(2));
+                }
+            }
+        }
+    }
+
+    private void apply(String payload) {
+        int separator = payload.indexOf(':');
+        try {
+            invalidate(Long.parseLong(payload.substring(0, separator)),
+                Long.parseLong(payload.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            logger.warn("Ignoring malformed item invalidation '{}'", payload);
+        }
+    }
+
+    private void invalidate(long journalId, long itemId) {
+        itemCatalog.invalidate(itemId);
+        lastSeenId = Math.max(lastSeenId, journalId);
+    }
+
+    private void prune(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+            "DELETE FROM item_invalidations WHERE created_at < LOCALTIMESTAMP - ? * INTERVAL '1 second'")) {
+            statement.setLong(1, retention.toSeconds());
+            statement.executeUpdate();
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // the worker is shutting down either way
+        }
+    }
+}
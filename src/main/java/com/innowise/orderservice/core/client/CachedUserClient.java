@@ -0,0 +1,134 @@
+package com.innowise.orderservice.core.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.client.UserClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, TTL-based cache of user profiles in front of {@link UserClient}.
+ * Entries are indexed both by id and by email; batch lookups only send the
+ * ids that miss to user-service.
+ *
+ * <p>user-service authorizes every lookup against the caller's token, and
+ * services rely on a denied lookup as an access check, so entries are kept
+ * per caller: a hit only returns what the same caller was already allowed
+ * to read.
+ */
+@Component
+public class CachedUserClient {
+
+    private static final Long FALLBACK_USER_ID = -1L;
+
+    private final UserClient userClient;
+    private final UserBatchLoader userBatchLoader;
+    private final Cache<CallerKey<Long>, GetUserDto> usersById;
+    private final Cache<CallerKey<String>, GetUserDto> usersByEmail;
+
+    public CachedUserClient(UserClient userClient,
+                            UserBatchLoader userBatchLoader,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.cache.ttl:5m}") Duration ttl,
+                            @Value("${user.cache.maximum-size:10000}") long maximumSize) {
+        this.userClient = userClient;
+        this.userBatchLoader = userBatchLoader;
+        this.usersById = buildCache(ttl, maximumSize);
+        this.usersByEmail = buildCache(ttl, maximumSize);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users.by-email");
+    }
+
+    private static <K> Cache<K, GetUserDto> buildCache(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maximumSize)
+            .recordStats()
+            .build();
+    }
+
+    public GetUserDto getUserById(Long id) {
+        Object credential = CallerCredentials.current();
+        GetUserDto cached = usersById.getIfPresent(new CallerKey<>(credential, id));
+        if (cached != null) {
+            return cached;
+        }
+
+        GetUserDto getUserDto = userBatchLoader.getUserById(id);
+        put(credential, getUserDto);
+        return getUserDto;
+    }
+
+    public GetUserDto getUserByEmail(String email) {
+        Object credential = CallerCredentials.current();
+        GetUserDto cached = usersByEmail.getIfPresent(new CallerKey<>(credential, email));
+        if (cached != null) {
+            return cached;
+        }
+
+        GetUserDto getUserDto = userClient.getUserByEmail(email);
+        put(credential, getUserDto);
+        return getUserDto;
+    }
+
+    public List<GetUserDto> getAllById(List<Long> ids) {
+        Object credential = CallerCredentials.current();
+        Set<CallerKey<Long>> keys = new LinkedHashSet<>();
+        ids.forEach(id -> keys.add(new CallerKey<>(credential, id)));
+        Map<CallerKey<Long>, GetUserDto> cached = usersById.getAllPresent(keys);
+
+        List<Long> missingIds = keys.stream()
+            .filter(key -> !cached.containsKey(key))
+            .map(CallerKey::key)
+            .toList();
+
+        List<GetUserDto> result = new ArrayList<>(cached.values());
+        if (!missingIds.isEmpty()) {
+            List<GetUserDto> fetched = userClient.getAllById(missingIds);
+            fetched.forEach(getUserDto -> put(credential, getUserDto));
+            result.addAll(fetched);
+        }
+        return result;
+    }
+
+    /**
+     * Evicts the user for every caller.
+     */
+    public void invalidate(Long id) {
+        usersById.asMap().keySet().removeIf(key -> id.equals(key.key()));
+        usersByEmail.asMap().values().removeIf(getUserDto -> id.equals(getUserDto.id()));
+    }
+
+    public void invalidateByEmail(String email) {
+        usersByEmail.asMap().keySet().removeIf(key -> email.equals(key.key()));
+        usersById.asMap().values().removeIf(getUserDto -> email.equals(getUserDto.email()));
+    }
+
+    public void invalidateAll() {
+        usersById.invalidateAll();
+        usersByEmail.invalidateAll();
+    }
+
+    private void put(Object credential, GetUserDto getUserDto) {
+        if (getUserDto == null || getUserDto.id() == null || FALLBACK_USER_ID.equals(getUserDto.id())) {
+            return;
+        }
+
+        usersById.put(new CallerKey<>(credential, getUserDto.id()), getUserDto);
+        if (getUserDto.email() != null) {
+            usersByEmail.put(new CallerKey<>(credential, getUserDto.email()), getUserDto);
+        }
+    }
+
+    private record CallerKey<K>(Object credential, K key) {}
+}
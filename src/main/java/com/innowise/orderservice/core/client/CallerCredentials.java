@@ -0,0 +1,27 @@
+package com.innowise.orderservice.core.client;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+/**
+ * The authority user-service checks a lookup against: the bearer token
+ * {@link com.innowise.orderservice.core.config.FeignClientConfig} forwards,
+ * or the authentication itself when there is none.
+ */
+final class CallerCredentials {
+
+    private CallerCredentials() {
+    }
+
+    static Object current() {
+        return of(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    static Object of(Authentication authentication) {
+        if (authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> oauthToken) {
+            return oauthToken.getToken().getTokenValue();
+        }
+        return authentication;
+    }
+}
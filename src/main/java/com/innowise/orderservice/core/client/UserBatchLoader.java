@@ -0,0 +1,232 @@
+package com.innowise.orderservice.core.client;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.client.UserClient;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces single-id user lookups into {@link UserClient#getAllById} calls.
+ * Lookups are collected for a short window (or until the batch is full) and
+ * identical ids share one future until it completes, including while its
+ * batch is on the wire.
+ *
+ * <p>Batches are keyed by the bearer token {@link
+ * com.innowise.orderservice.core.config.FeignClientConfig} forwards, not by
+ * caller. user-service authorizes every lookup against that token (a USER
+ * may only read their own profile, which {@code deleteOrder} relies on), so
+ * ids requested under different tokens cannot share a remote call without
+ * one caller reading profiles under another's authority. Requests carrying
+ * the same token share batches.
+ *
+ * <p>Dispatch is bounded: at most {@code user.batching.concurrency} batches
+ * are on the wire and {@code user.batching.queue-capacity} wait; beyond that
+ * a batch fails with {@link RejectedExecutionException} instead of queueing
+ * without limit. Every future fails after {@code user.batching.timeout}.
+ * When virtual threads are enabled the dispatcher threads are virtual, so a
+ * slow user-service parks them instead of holding platform threads.
+ */
+@Component
+public class UserBatchLoader {
+
+    private final UserClient userClient;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<Object, Batch> openBatches = new HashMap<>();
+    private final Map<InFlightKey, CompletableFuture<GetUserDto>> inFlight = new HashMap<>();
+
+    public UserBatchLoader(UserClient userClient,
+                           @Value("${user.batching.enabled:true}") boolean enabled,
+                           @Value("${user.batching.window:2ms}") Duration window,
+                           @Value("${user.batching.max-size:100}") int maxBatchSize,
+                           @Value("${user.batching.concurrency:8}") int concurrency,
+                           @Value("${user.batching.queue-capacity:64}") int queueCapacity,
+                           @Value("${user.batching.timeout:5s}") Duration timeout,
+                           Environment environment) {
+        this.userClient = userClient;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("user-batch-timer-"));
+        this.dispatcher = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("user-batch-").getVirtualThreadFactory()
+                : threadFactory("user-batch-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static CustomizableThreadFactory threadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    public GetUserDto getUserById(Long id) {
+        if (!enabled) {
+            return userClient.getUserById(id);
+        }
+
+        try {
+            return load(id).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<GetUserDto> load(Long id) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Object credential = CallerCredentials.of(context.getAuthentication());
+        InFlightKey key = new InFlightKey(credential, id);
+
+        CompletableFuture<GetUserDto> future;
+        Batch fullBatch = null;
+
+        lock.lock();
+        try {
+            future = inFlight.get(key);
+            if (future != null) {
+                return future;
+            }
+
+            Batch batch = openBatches.get(credential);
+            if (batch == null) {
+                batch = new Batch(credential, context);
+                openBatches.put(credential, batch);
+
+                Batch scheduled = batch;
+                scheduler.schedule(() -> flush(scheduled), window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+
+            future = new CompletableFuture<GetUserDto>().orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            batch.futures.put(id, future);
+            inFlight.put(key, future);
+
+            CompletableFuture<GetUserDto> registered = future;
+            future.whenComplete((user, ex) -> release(key, registered));
+
+            if (batch.futures.size() >= maxBatchSize) {
+                openBatches.remove(credential);
+                fullBatch = batch;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            submit(fullBatch);
+        }
+        return future;
+    }
+
+    /**
+     * The bearer token user-service authorizes against, or the
+     * authentication itself for callers without one.
+     */
+    private void release(InFlightKey key, CompletableFuture<GetUserDto> future) {
+        lock.lock();
+        try {
+            inFlight.remove(key, future);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (!openBatches.remove(batch.credential, batch)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        submit(batch);
+    }
+
+    private void submit(Batch batch) {
+        try {
+            dispatcher.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException ex) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        SecurityContextHolder.setContext(batch.context);
+        try {
+            List<GetUserDto> users = userClient.getAllById(new ArrayList<>(batch.futures.keySet()));
+
+            Map<Long, GetUserDto> usersById = users.stream()
+                .collect(Collectors.toMap(GetUserDto::id, dto -> dto, (first, second) -> first));
+
+            batch.futures.forEach((id, future) -> {
+                GetUserDto getUserDto = usersById.get(id);
+                if (getUserDto != null) {
+                    future.complete(getUserDto);
+                } else {
+                    future.completeExceptionally(new EntityNotFoundException("User not found: " + id));
+                }
+            });
+        } catch (RuntimeException ex) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(ex));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private record InFlightKey(Object credential, Long id) {}
+
+    private static final class Batch {
+        private final Object credential;
+        private final SecurityContext context;
+        private final Map<Long, CompletableFuture<GetUserDto>> futures = new LinkedHashMap<>();
+
+        private Batch(Object credential, SecurityContext context) {
+            this.credential = credential;
+            this.context = context;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.innowise.orderservice.core.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs user-service lookups alongside database work. Tasks carry the
+     * submitter's security context so Feign forwards the caller's token. When
+     * the pool and queue are full submission is rejected rather than run on
+     * the caller, which may be inside a transaction; the service then defers
+     * the lookup until it is joined.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userLookupExecutor(@Value("${user.lookup.pool-size:16}") int poolSize,
+                                                     @Value("${user.lookup.queue-capacity:200}") int queueCapacity,
+                                                     Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("user-lookup-");
+        executor.setTaskDecorator(runnable -> DelegatingSecurityContextRunnable.create(runnable, null));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("user-lookup-").getVirtualThreadFactory());
+        }
+        return executor;
+    }
+}
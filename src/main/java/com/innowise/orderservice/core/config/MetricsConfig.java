@@ -0,0 +1,66 @@
+package com.innowise.orderservice.core.config;
+
+import com.innowise.orderservice.core.metrics.CircuitBreakerTransitionMetrics;
+import com.innowise.orderservice.core.metrics.ConnectionHoldTimeDataSource;
+import com.innowise.orderservice.core.metrics.EntityLoadCountingIntegrator;
+import com.innowise.orderservice.core.metrics.RequestQueryMetricsFilter;
+import com.innowise.orderservice.core.metrics.StatementCountingListener;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeBeanPostProcessor(
+        ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource(dataSource, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public RequestQueryMetricsFilter requestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        return new RequestQueryMetricsFilter(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementCountingListener.class.getName());
+            properties.put(INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+        };
+    }
+
+    @Bean
+    public CircuitBreakerTransitionMetrics circuitBreakerTransitionMetrics(
+        CircuitBreakerRegistry circuitBreakerRegistry) {
+
+        return new CircuitBreakerTransitionMetrics(circuitBreakerRegistry);
+    }
+}
@@ -36,9 +36,14 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers(
-                    "/actuator/**"
+                    "/actuator/health/**",
+                    "/actuator/info"
                 )
                 .permitAll()
+                .requestMatchers(
+                    "/actuator/**"
+                )
+                .hasAnyRole("ADMIN", "MONITORING")
                 .requestMatchers(
                     HttpMethod.GET, "/api/v1/items/**")
                 .permitAll()
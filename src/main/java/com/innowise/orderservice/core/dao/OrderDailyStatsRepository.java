@@ -0,0 +1,49 @@
+package com.innowise.orderservice.core.dao;
+
+import com.innowise.orderservice.core.entity.OrderDailyStats;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OrderDailyStatsRepository extends JpaRepository<OrderDailyStats, OrderDailyStats.Key> {
+
+    List<OrderDailyStats> findByDayGreaterThanEqualAndDayLessThan(LocalDate from, LocalDate to, Sort sort);
+
+    /**
+     * Adds the difference between the per-day totals recomputed from
+     * {@code orders} and the stored ones, as an increment.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_daily_stats AS s (day, status, order_count, revenue)
+        SELECT day, status, SUM(order_count), SUM(revenue)
+        FROM (
+            SELECT CAST(creation_date AS DATE) AS day, status, COUNT(*) AS order_count, 0 AS revenue
+            FROM orders
+            GROUP BY CAST(creation_date AS DATE), status
+            UNION ALL
+            SELECT CAST(o.creation_date AS DATE), o.status, 0, SUM(l.quantity * i.price)
+            FROM order_items l
+            JOIN orders o ON o.id = l.order_id
+            JOIN items i ON i.id = l.item_id
+            GROUP BY CAST(o.creation_date AS DATE), o.status
+            UNION ALL
+            SELECT day, status, -order_count, -revenue
+            FROM order_daily_stats
+        ) d
+        GROUP BY day, status
+        HAVING SUM(order_count) <> 0 OR SUM(revenue) <> 0
+        ORDER BY day, status
+        ON CONFLICT (day, status) DO UPDATE
+            SET order_count = s.order_count + EXCLUDED.order_count,
+                revenue = s.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    int reconcile();
+
+    @Modifying
+    @Query(value = "DELETE FROM order_daily_stats WHERE order_count = 0 AND revenue = 0", nativeQuery = true)
+    int deleteEmpty();
+}
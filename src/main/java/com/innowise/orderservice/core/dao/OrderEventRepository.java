@@ -0,0 +1,75 @@
+package com.innowise.orderservice.core.dao;
+
+import com.innowise.orderservice.core.entity.OrderEvent;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    /**
+     * Appends events in array order with one statement, whatever their
+     * number.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_events (order_id, event_type, payload)
+        SELECT *
+        FROM unnest(CAST(:orderIds AS BIGINT[]), CAST(:eventTypes AS VARCHAR[]), CAST(:payloads AS TEXT[]))
+        """, nativeQuery = true)
+    int insertAll(@Param("orderIds") Long[] orderIds,
+                  @Param("eventTypes") String[] eventTypes,
+                  @Param("payloads") String[] payloads);
+
+    /**
+     * Locks the oldest unpublished events that are due, skipping rows another
+     * relay holds. An event is only eligible once every earlier event of its
+     * order is gone or dead-lettered, so relays on several instances never
+     * publish one order's events out of order.
+     */
+    @Query(value = """
+        SELECT e.* FROM order_events e
+        WHERE e.dead_lettered_at IS NULL
+            AND e.next_attempt_at <= now()
+            AND NOT EXISTS (
+                SELECT 1 FROM order_events p
+                WHERE p.order_id = e.order_id AND p.id < e.id AND p.dead_lettered_at IS NULL
+            )
+        ORDER BY e.id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OrderEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_events WHERE id = ANY(:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Long[] ids);
+
+    /**
+     * Counts a failed publish attempt and holds the events back for
+     * {@code delaySeconds}.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE order_events
+        SET attempts = attempts + 1,
+            next_attempt_at = now() + make_interval(secs => :delaySeconds)
+        WHERE id = ANY(:ids)
+        """, nativeQuery = true)
+    int scheduleRetry(@Param("ids") Long[] ids, @Param("delaySeconds") double delaySeconds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE order_events
+        SET attempts = attempts + 1, dead_lettered_at = now()
+        WHERE id = :id
+        """, nativeQuery = true)
+    int deadLetter(@Param("id") Long id);
+
+    @Query("SELECT e.createdAt FROM OrderEvent e WHERE e.deadLetteredAt IS NULL ORDER BY e.id")
+    List<Instant> findCreatedAtOldestFirst(Limit limit);
+}
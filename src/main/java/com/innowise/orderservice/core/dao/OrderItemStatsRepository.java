@@ -0,0 +1,42 @@
+package com.innowise.orderservice.core.dao;
+
+import com.innowise.orderservice.core.entity.OrderItemStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface OrderItemStatsRepository extends JpaRepository<OrderItemStats, Long> {
+
+    /**
+     * Adds the difference between the per-item totals recomputed from
+     * {@code order_items} and the stored ones, as an increment.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_item_stats AS s (item_id, order_count, units, revenue)
+        SELECT item_id, SUM(order_count), SUM(units), SUM(revenue)
+        FROM (
+            SELECT l.item_id, COUNT(*) AS order_count, SUM(l.quantity) AS units,
+                   SUM(l.quantity * i.price) AS revenue
+            FROM order_items l
+            JOIN items i ON i.id = l.item_id
+            GROUP BY l.item_id
+            UNION ALL
+            SELECT item_id, -order_count, -units, -revenue
+            FROM order_item_stats
+        ) d
+        GROUP BY item_id
+        HAVING SUM(order_count) <> 0 OR SUM(units) <> 0 OR SUM(revenue) <> 0
+        ORDER BY item_id
+        ON CONFLICT (item_id) DO UPDATE
+            SET order_count = s.order_count + EXCLUDED.order_count,
+                units = s.units + EXCLUDED.units,
+                revenue = s.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    int reconcile();
+
+    @Modifying
+    @Query(value = "DELETE FROM order_item_stats WHERE order_count = 0 AND units = 0 AND revenue = 0",
+        nativeQuery = true)
+    int deleteEmpty();
+}
@@ -1,21 +1,216 @@
 package com.innowise.orderservice.core.dao;
 
+import com.innowise.orderservice.core.dao.projection.OrderItemRow;
+import com.innowise.orderservice.core.dao.projection.OrderKeyView;
 import com.innowise.orderservice.core.entity.Order;
 import com.innowise.orderservice.core.entity.Status;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    Page<Order> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+    @EntityGraph(Order.WITH_ITEMS_GRAPH)
+    Optional<Order> findWithItemsById(Long id);
 
-    @Query("SELECT o FROM Order o WHERE o.status IN :statuses")
-    Page<Order> findAllByStatusIn(@Param("statuses")Collection<Status> statuses, Pageable pageable);
+    @Query("SELECT o.userId FROM Order o WHERE o.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
 
-    @Query(value = "SELECT o FROM orders o WHERE o.user_id = :userId", nativeQuery = true)
-    Page<Order> findAllByUserId(@Param("userId")Long userId, Pageable pageable);
+    @Query("SELECT o.version FROM Order o WHERE o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(
+        value = "SELECT o.id FROM Order o",
+        countQuery = "SELECT COUNT(o) FROM Order o"
+    )
+    Page<Long> findAllIds(Pageable pageable);
+
+    @Query(
+        value = "SELECT o.id FROM Order o WHERE o.id IN :ids",
+        countQuery = "SELECT COUNT(o) FROM Order o WHERE o.id IN :ids"
+    )
+    Page<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+    /**
+     * Offset listing over {@code status IN (...)}. It cannot use the partial
+     * status indexes; the keyset listing built on {@link #findKeysByStatus}
+     * can.
+     */
+    @Query(
+        value = "SELECT o.id FROM Order o WHERE o.status IN :statuses",
+        countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status IN :statuses"
+    )
+    Page<Long> findIdsByStatusIn(@Param("statuses") Collection<Status> statuses, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o")
+    Slice<Long> findAllIdsSlice(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+    Slice<Long> findIdsSliceByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses")
+    Slice<Long> findIdsSliceByStatusIn(@Param("statuses") Collection<Status> statuses, Pageable pageable);
+
+    long countByIdIn(Collection<Long> ids);
+
+    long countByStatusIn(Collection<Status> statuses);
+
+    @Query("""
+        SELECT new com.innowise.orderservice.core.dao.projection.OrderItemRow(
+            o.id, o.status, o.creationDate, o.userId, o.version,
+            oi.id, oi.quantity, i.id, i.name, i.price, i.version)
+        FROM Order o
+        LEFT JOIN o.orderItems oi
+        LEFT JOIN oi.item i
+        WHERE o.id IN :ids
+        ORDER BY oi.id
+        """)
+    List<OrderItemRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams order lines created in {@code [from, to)} through a server-side
+     * cursor, rows of one order adjacent. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+        SELECT new com.innowise.orderservice.core.dao.projection.OrderItemRow(
+            o.id, o.status, o.creationDate, o.userId, o.version,
+            oi.id, oi.quantity, i.id, i.name, i.price, i.version)
+        FROM Order o
+        LEFT JOIN o.orderItems oi
+        LEFT JOIN oi.item i
+        WHERE o.creationDate >= :from AND o.creationDate < :to
+        ORDER BY o.creationDate, o.id, oi.id
+        """)
+    Stream<OrderItemRow> streamRowsByCreationDateBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    Window<OrderKeyView> findKeysBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<OrderKeyView> findKeysByIdIn(Collection<Long> ids, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * First keyset page of one status, served by the partial index for hot
+     * statuses. Callers query each status separately and merge, as
+     * {@code status IN (...)} cannot be answered from partial indexes, and
+     * call {@link #forceCustomPlans()} first in the same transaction.
+     */
+    @Query("""
+        SELECT o.id AS id, o.creationDate AS creationDate
+        FROM Order o
+        WHERE o.status = :status
+        ORDER BY o.creationDate DESC, o.id DESC
+        """)
+    List<OrderKeyView> findKeysByStatus(@Param("status") Status status, Limit limit);
+
+    /**
+     * Makes every later statement of the current transaction planned for its
+     * bound values. Once a server-side prepared {@code status = ?} switches
+     * to a generic plan, the planner no longer knows the status and cannot
+     * pick its partial index.
+     */
+    @Query(value = "SELECT set_config('plan_cache_mode', 'force_custom_plan', true)", nativeQuery = true)
+    String forceCustomPlans();
+
+    @Query("""
+        SELECT o.id AS id, o.creationDate AS creationDate
+        FROM Order o
+        WHERE o.status = :status
+            AND o.creationDate <= :creationDate
+            AND (o.creationDate < :creationDate OR o.id < :id)
+        ORDER BY o.creationDate DESC, o.id DESC
+        """)
+    List<OrderKeyView> findKeysByStatusAfter(@Param("status") Status status,
+                                             @Param("creationDate") Instant creationDate,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    /**
+     * Moves the given orders and appends one {@code ORDER_STATUS_CHANGED}
+     * outbox event per moved order in the same statement. Returns the
+     * number of moved orders.
+     */
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            UPDATE orders SET status = :toStatus, version = version + 1
+            WHERE id = ANY(:ids) AND status = :fromStatus
+            RETURNING id, user_id, status, version
+        )
+        INSERT INTO order_events (order_id, event_type, payload)
+        SELECT id, 'ORDER_STATUS_CHANGED',
+               CAST(json_build_object('orderId', id, 'userId', user_id, 'status', status,
+                                      'previousStatus', CAST(:fromStatus AS VARCHAR), 'version', version) AS TEXT)
+        FROM moved
+        ORDER BY id
+        """, nativeQuery = true)
+    int updateStatusByIdIn(@Param("ids") Long[] ids,
+                           @Param("fromStatus") String fromStatus,
+                           @Param("toStatus") String toStatus);
+
+    /**
+     * Moves every order in {@code fromStatus}, with outbox events as in
+     * {@link #updateStatusByIdIn}.
+     */
+    @Modifying
+    @Query(value = """
+        WITH moved AS (
+            UPDATE orders SET status = :toStatus, version = version + 1
+            WHERE status = :fromStatus
+            RETURNING id, user_id, status, version
+        )
+        INSERT INTO order_events (order_id, event_type, payload)
+        SELECT id, 'ORDER_STATUS_CHANGED',
+               CAST(json_build_object('orderId', id, 'userId', user_id, 'status', status,
+                                      'previousStatus', CAST(:fromStatus AS VARCHAR), 'version', version) AS TEXT)
+        FROM moved
+        ORDER BY id
+        """, nativeQuery = true)
+    int updateStatusByStatus(@Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus);
+
+    /**
+     * First page of a user's order history, newest first, in the order of
+     * {@code idx_orders_user_id_creation_date_id}.
+     */
+    @Query("""
+        SELECT o.id AS id, o.creationDate AS creationDate
+        FROM Order o
+        WHERE o.userId = :userId
+        ORDER BY o.creationDate DESC, o.id
+        """)
+    List<OrderKeyView> findHistoryKeysByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Page of a user's order history after {@code (creationDate, id)}. The
+     * redundant {@code creationDate <= :creationDate} bounds the index scan,
+     * so a page costs the same however deep it is.
+     */
+    @Query("""
+        SELECT o.id AS id, o.creationDate AS creationDate
+        FROM Order o
+        WHERE o.userId = :userId
+            AND o.creationDate <= :creationDate
+            AND (o.creationDate < :creationDate OR o.id > :id)
+        ORDER BY o.creationDate DESC, o.id
+        """)
+    List<OrderKeyView> findHistoryKeysByUserIdAfter(@Param("userId") Long userId,
+                                                    @Param("creationDate") Instant creationDate,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
 }
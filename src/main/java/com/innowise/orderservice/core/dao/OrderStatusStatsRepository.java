@@ -0,0 +1,58 @@
+package com.innowise.orderservice.core.dao;
+
+import com.innowise.orderservice.core.entity.OrderStatusStats;
+import com.innowise.orderservice.core.entity.Status;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OrderStatusStatsRepository extends JpaRepository<OrderStatusStats, Status> {
+
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM OrderStatusStats s")
+    long sumOrderCount();
+
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM OrderStatusStats s WHERE s.status IN :statuses")
+    long sumOrderCountByStatusIn(@Param("statuses") Collection<Status> statuses);
+
+    /**
+     * Takes the transaction-scoped lock that keeps concurrent
+     * reconciliations on several instances from applying the same
+     * correction twice.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('order_stats_reconciliation'))", nativeQuery = true)
+    boolean tryLockReconciliation();
+
+    /**
+     * Adds the difference between the totals recomputed from
+     * {@code orders} and the stored ones. The correction is applied as an
+     * increment, so deltas committed while it runs are kept.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_status_stats AS s (status, order_count, revenue)
+        SELECT status, SUM(order_count), SUM(revenue)
+        FROM (
+            SELECT status, COUNT(*) AS order_count, 0 AS revenue
+            FROM orders
+            GROUP BY status
+            UNION ALL
+            SELECT o.status, 0, SUM(l.quantity * i.price)
+            FROM order_items l
+            JOIN orders o ON o.id = l.order_id
+            JOIN items i ON i.id = l.item_id
+            GROUP BY o.status
+            UNION ALL
+            SELECT status, -order_count, -revenue
+            FROM order_status_stats
+        ) d
+        GROUP BY status
+        HAVING SUM(order_count) <> 0 OR SUM(revenue) <> 0
+        ORDER BY status
+        ON CONFLICT (status) DO UPDATE
+            SET order_count = s.order_count + EXCLUDED.order_count,
+                revenue = s.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    int reconcile();
+}
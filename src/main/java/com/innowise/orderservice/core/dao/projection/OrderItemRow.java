@@ -0,0 +1,23 @@
+package com.innowise.orderservice.core.dao.projection;
+
+import com.innowise.orderservice.core.entity.Status;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat order/order item/item row. Order item columns are null for orders
+ * without lines.
+ */
+public record OrderItemRow(
+    Long orderId,
+    Status status,
+    Instant creationDate,
+    Long userId,
+    Long version,
+    Long orderItemId,
+    Integer quantity,
+    Long itemId,
+    String itemName,
+    BigDecimal itemPrice,
+    Long itemVersion
+) {}
@@ -0,0 +1,10 @@
+package com.innowise.orderservice.core.dao.projection;
+
+import java.time.Instant;
+
+public interface OrderKeyView {
+
+    Long getId();
+
+    Instant getCreationDate();
+}
@@ -10,9 +10,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -26,10 +31,18 @@ import org.springframework.data.annotation.CreatedDate;
 @Setter
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+    name = Order.WITH_ITEMS_GRAPH,
+    attributeNodes = @NamedAttributeNode(value = "orderItems", subgraph = "orderItems.item"),
+    subgraphs = @NamedSubgraph(name = "orderItems.item", attributeNodes = @NamedAttributeNode("item"))
+)
 public class Order {
 
+    public static final String WITH_ITEMS_GRAPH = "Order.withItems";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -42,6 +55,10 @@ public class Order {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(
         mappedBy = "order",
         cascade = CascadeType.ALL,
@@ -0,0 +1,52 @@
+package com.innowise.orderservice.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Running order count and revenue for orders created on one day with one
+ * status, maintained by database triggers on {@code orders} and
+ * {@code order_items}.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "order_daily_stats")
+@IdClass(OrderDailyStats.Key.class)
+public class OrderDailyStats {
+
+    @Id
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        private LocalDate day;
+        private Status status;
+    }
+}
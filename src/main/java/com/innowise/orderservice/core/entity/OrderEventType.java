@@ -0,0 +1,7 @@
+package com.innowise.orderservice.core.entity;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    ORDER_DELETED;
+}
@@ -0,0 +1,35 @@
+package com.innowise.orderservice.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Running number of orders containing an item, units sold and revenue,
+ * maintained by database triggers on {@code order_items}.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "order_item_stats")
+public class OrderItemStats {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
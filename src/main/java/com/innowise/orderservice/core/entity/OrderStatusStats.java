@@ -0,0 +1,34 @@
+package com.innowise.orderservice.core.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Running order count and revenue for one status, maintained by database
+ * triggers on {@code orders} and {@code order_items}.
+ */
+@Getter
+@Setter
+@Entity
+@Immutable
+@Table(name = "order_status_stats")
+public class OrderStatusStats {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
@@ -11,6 +11,7 @@ import javax.naming.AuthenticationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -68,6 +69,18 @@ public class GlobalExceptionHandler {
       );
    }
 
+   @ExceptionHandler(OptimisticLockingFailureException.class)
+   public ResponseEntity<GetErrorDto> handleOptimisticLockingFailure(
+       OptimisticLockingFailureException ex, WebRequest request) {
+
+      return buildResponseEntity(
+          ex,
+          "The resource was modified by another request. Reload it and retry.",
+          HttpStatus.PRECONDITION_FAILED,
+          request
+      );
+   }
+
    @ExceptionHandler(HttpMessageNotReadableException.class)
    public ResponseEntity<GetErrorDto> handleMalformedJson(
        HttpMessageNotReadableException ex, WebRequest request) {
@@ -80,6 +93,18 @@ public class GlobalExceptionHandler {
       );
    }
 
+   @ExceptionHandler(InvalidRequestException.class)
+   public ResponseEntity<GetErrorDto> handleInvalidRequest(
+       InvalidRequestException ex, WebRequest request) {
+
+      return buildResponseEntity(
+          ex,
+          ex.getMessage(),
+          HttpStatus.BAD_REQUEST,
+          request
+      );
+   }
+
    @ExceptionHandler(AuthenticationException.class)
    public ResponseEntity<GetErrorDto> handleAuthenticationException(
        AuthenticationException ex, WebRequest request) {
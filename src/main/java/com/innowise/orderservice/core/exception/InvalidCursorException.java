@@ -0,0 +1,8 @@
+package com.innowise.orderservice.core.exception;
+
+public class InvalidCursorException extends InvalidRequestException {
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid cursor: " + cursor, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.innowise.orderservice.core.exception;
+
+/**
+ * Request input the service rejects with 400 and whose message is safe to
+ * return to the client. Other {@link IllegalArgumentException}s are bugs
+ * and stay 500.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,90 @@
+package com.innowise.orderservice.core.mapper.order;
+
+import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
+import com.innowise.orderservice.core.dao.projection.OrderItemRow;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Groups flat {@link OrderItemRow}s into order DTOs in a single pass.
+ */
+@Component
+public class OrderItemRowAssembler {
+
+    public List<OrderSnapshot> assemble(List<Long> orderIds, List<OrderItemRow> rows) {
+        Map<Long, OrderRows> ordersById = new HashMap<>(orderIds.size() * 2);
+
+        for (OrderItemRow row : rows) {
+            ordersById.computeIfAbsent(row.orderId(), id -> new OrderRows(row)).add(row);
+        }
+
+        return orderIds.stream()
+            .map(ordersById::get)
+            .filter(Objects::nonNull)
+            .map(OrderRows::toSnapshot)
+            .toList();
+    }
+
+    /**
+     * Streaming variant for rows that arrive grouped by order: each order is
+     * handed to {@code consumer} as soon as its last row has been read, so
+     * only one order is held at a time.
+     */
+    public void assemble(Stream<OrderItemRow> rows, Consumer<OrderSnapshot> consumer) {
+        Iterator<OrderItemRow> iterator = rows.iterator();
+        OrderRows current = null;
+
+        while (iterator.hasNext()) {
+            OrderItemRow row = iterator.next();
+            if (current == null || !current.first.orderId().equals(row.orderId())) {
+                if (current != null) {
+                    consumer.accept(current.toSnapshot());
+                }
+                current = new OrderRows(row);
+            }
+            current.add(row);
+        }
+
+        if (current != null) {
+            consumer.accept(current.toSnapshot());
+        }
+    }
+
+    private static final class OrderRows {
+        private final OrderItemRow first;
+        private final Set<GetOrderItemDto> orderItems = new LinkedHashSet<>();
+
+        private OrderRows(OrderItemRow first) {
+            this.first = first;
+        }
+
+        private void add(OrderItemRow row) {
+            if (row.orderItemId() != null) {
+                orderItems.add(new GetOrderItemDto(
+                    row.orderItemId(),
+                    row.quantity(),
+                    new GetItemDto(row.itemId(), row.itemName(), row.itemPrice(), row.itemVersion())
+                ));
+            }
+        }
+
+        private OrderSnapshot toSnapshot() {
+            return new OrderSnapshot(
+                new GetOrderDtoWithoutUser(
+                    first.orderId(), first.status(), first.creationDate(), orderItems, first.version()
+                ),
+                first.userId()
+            );
+        }
+    }
+}
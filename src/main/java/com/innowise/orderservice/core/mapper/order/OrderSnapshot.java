@@ -0,0 +1,8 @@
+package com.innowise.orderservice.core.mapper.order;
+
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+
+public record OrderSnapshot(
+    GetOrderDtoWithoutUser order,
+    Long userId
+) {}
@@ -0,0 +1,32 @@
+package com.innowise.orderservice.core.mapper.order;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Pairs order snapshots with the users fetched for them, keeping the order
+ * of {@code orders}. Orders whose user was not returned get a {@code null}
+ * user.
+ */
+public final class OrderUserJoin {
+
+    private OrderUserJoin() {
+    }
+
+    public static List<GetOrderDto> join(List<OrderSnapshot> orders, List<GetUserDto> users) {
+        Map<Long, GetUserDto> usersById = users.stream()
+            .collect(Collectors.toMap(
+                GetUserDto::id, dto -> dto
+            ));
+
+        return orders.stream()
+            .map(order -> new GetOrderDto(
+                order.order(),
+                usersById.get(order.userId())
+            ))
+            .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.innowise.orderservice.core.mapper.stats;
+
+import com.innowise.orderservice.api.dto.stats.GetDailyStatsDto;
+import com.innowise.orderservice.core.entity.OrderDailyStats;
+import com.innowise.orderservice.core.mapper.BaseMapper;
+import org.mapstruct.Mapper;
+
+@Mapper(config = BaseMapper.class)
+public interface DailyStatsMapper extends BaseMapper<OrderDailyStats, GetDailyStatsDto> {
+}
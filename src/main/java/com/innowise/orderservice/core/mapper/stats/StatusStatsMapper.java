@@ -0,0 +1,10 @@
+package com.innowise.orderservice.core.mapper.stats;
+
+import com.innowise.orderservice.api.dto.stats.GetStatusStatsDto;
+import com.innowise.orderservice.core.entity.OrderStatusStats;
+import com.innowise.orderservice.core.mapper.BaseMapper;
+import org.mapstruct.Mapper;
+
+@Mapper(config = BaseMapper.class)
+public interface StatusStatsMapper extends BaseMapper<OrderStatusStats, GetStatusStatsDto> {
+}
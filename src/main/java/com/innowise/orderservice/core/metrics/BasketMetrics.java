@@ -0,0 +1,36 @@
+package com.innowise.orderservice.core.metrics;
+
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderItem;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distribution of created orders: distinct items per order
+ * ({@code orders.basket.size}) and total units ({@code orders.basket.units}).
+ */
+@Component
+public class BasketMetrics {
+
+    private final DistributionSummary basketSize;
+    private final DistributionSummary basketUnits;
+
+    public BasketMetrics(MeterRegistry meterRegistry) {
+        this.basketSize = DistributionSummary.builder("orders.basket.size")
+            .baseUnit("items")
+            .publishPercentileHistogram()
+            .maximumExpectedValue(1000.0)
+            .register(meterRegistry);
+        this.basketUnits = DistributionSummary.builder("orders.basket.units")
+            .baseUnit("units")
+            .publishPercentileHistogram()
+            .maximumExpectedValue(10000.0)
+            .register(meterRegistry);
+    }
+
+    public void record(Order order) {
+        basketSize.record(order.getOrderItems().size());
+        basketUnits.record(order.getOrderItems().stream().mapToInt(OrderItem::getQuantity).sum());
+    }
+}
@@ -0,0 +1,42 @@
+package com.innowise.orderservice.core.metrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Counts circuit breaker state transitions as
+ * {@code resilience4j.circuitbreaker.transitions}. Resilience4j only publishes
+ * the current state as a gauge, which a scrape can miss when a breaker opens
+ * and recovers between two scrapes.
+ */
+public class CircuitBreakerTransitionMetrics implements MeterBinder {
+
+    public static final String METRIC_NAME = "resilience4j.circuitbreaker.transitions";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public CircuitBreakerTransitionMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        circuitBreakerRegistry.getAllCircuitBreakers()
+            .forEach(circuitBreaker -> bind(circuitBreaker, meterRegistry));
+        // breakers behind @CircuitBreaker are created on their first call
+        circuitBreakerRegistry.getEventPublisher()
+            .onEntryAdded(event -> bind(event.getAddedEntry(), meterRegistry));
+    }
+
+    private static void bind(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> Counter.builder(METRIC_NAME)
+            .tag("name", circuitBreaker.getName())
+            .tag("from", event.getStateTransition().getFromState().name())
+            .tag("to", event.getStateTransition().getToState().name())
+            .register(meterRegistry)
+            .increment());
+    }
+}
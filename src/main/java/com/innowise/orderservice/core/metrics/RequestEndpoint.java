@@ -0,0 +1,32 @@
+package com.innowise.orderservice.core.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * The {@code endpoint} tag shared by per-request meters: the HTTP method and
+ * the matched handler pattern, so path variables do not explode cardinality.
+ */
+final class RequestEndpoint {
+
+    static final String NONE = "none";
+
+    private RequestEndpoint() {
+    }
+
+    static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        return of(servletAttributes.getRequest());
+    }
+
+    static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : NONE);
+    }
+}
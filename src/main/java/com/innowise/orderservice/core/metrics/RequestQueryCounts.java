@@ -0,0 +1,49 @@
+package com.innowise.orderservice.core.metrics;
+
+/**
+ * Statements prepared and entities loaded by Hibernate on the current thread
+ * while a request is being served. Counting only happens between
+ * {@link #open()} and {@link #close()}; work outside a request is ignored.
+ */
+public final class RequestQueryCounts {
+
+    private static final ThreadLocal<RequestQueryCounts> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entityLoads;
+
+    private RequestQueryCounts() {
+    }
+
+    static RequestQueryCounts open() {
+        RequestQueryCounts counts = new RequestQueryCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entityLoads++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public int entityLoads() {
+        return entityLoads;
+    }
+}
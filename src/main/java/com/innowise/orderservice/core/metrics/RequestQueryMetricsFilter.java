@@ -0,0 +1,51 @@
+package com.innowise.orderservice.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records how many SQL statements and entity loads each request caused, as
+ * {@code hibernate.request.statements} and {@code hibernate.request.entity.loads}
+ * tagged with the handling endpoint. Only work on the request thread is
+ * counted.
+ */
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC_NAME = "hibernate.request.statements";
+    public static final String ENTITY_LOADS_METRIC_NAME = "hibernate.request.entity.loads";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryCounts counts = RequestQueryCounts.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryCounts.close();
+
+            String endpoint = RequestEndpoint.of(request);
+            summary(STATEMENTS_METRIC_NAME, endpoint).record(counts.statements());
+            summary(ENTITY_LOADS_METRIC_NAME, endpoint).record(counts.entityLoads());
+        }
+    }
+
+    private DistributionSummary summary(String name, String endpoint) {
+        return DistributionSummary.builder(name)
+            .tag("endpoint", endpoint)
+            .publishPercentileHistogram()
+            .maximumExpectedValue(1000.0)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.innowise.orderservice.core.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered for every session through {@code hibernate.session.events.auto},
+ * so Hibernate instantiates it per session; the counts live in
+ * {@link RequestQueryCounts}.
+ */
+public class StatementCountingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestQueryCounts.statementPrepared();
+    }
+}
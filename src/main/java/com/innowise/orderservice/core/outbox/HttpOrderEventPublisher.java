@@ -0,0 +1,44 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.innowise.orderservice.api.dto.event.OrderEventDto;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * POSTs each batch as a JSON array to {@code order.outbox.http.url}. Any
+ * non-2xx response fails the batch, which the relay then retries.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.publisher", havingValue = "http")
+public class HttpOrderEventPublisher implements OrderEventPublisher {
+
+    private final RestClient restClient;
+
+    public HttpOrderEventPublisher(RestClient.Builder restClientBuilder,
+                                   @Value("${order.outbox.http.url}") String url,
+                                   @Value("${order.outbox.http.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+
+        this.restClient = restClientBuilder
+            .baseUrl(url)
+            .requestFactory(requestFactory)
+            .build();
+    }
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        restClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(events)
+            .retrieve()
+            .toBodilessEntity();
+    }
+}
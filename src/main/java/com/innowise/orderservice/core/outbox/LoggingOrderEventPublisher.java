@@ -0,0 +1,26 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.innowise.orderservice.api.dto.event.OrderEventDto;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every event to the log. The default sink for local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.publisher", havingValue = "log", matchIfMissing = true)
+public class LoggingOrderEventPublisher implements OrderEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOrderEventPublisher.class);
+
+    @Override
+    public void publish(List<OrderEventDto> events) {
+        for (OrderEventDto event : events) {
+            logger.info("Order event {} {} for order {}: {}",
+                event.id(), event.type(), event.orderId(), event.payload());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.innowise.orderservice.api.dto.event.OrderEventDto;
+import java.util.List;
+
+/**
+ * Sink the outbox relay hands events to, oldest first. Delivery is at least
+ * once: a batch is published again if the relay fails before deleting it,
+ * so consumers deduplicate on {@link OrderEventDto#id()}.
+ */
+public interface OrderEventPublisher {
+
+    /**
+     * Returns only once the whole batch is accepted; throwing leaves every
+     * event of the batch to be retried.
+     */
+    void publish(List<OrderEventDto> events);
+}
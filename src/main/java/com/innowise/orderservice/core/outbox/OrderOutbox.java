@@ -0,0 +1,79 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.core.dao.OrderEventRepository;
+import com.innowise.orderservice.core.entity.OrderEventType;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.mapper.order.OrderSnapshot;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records order lifecycle events in {@code order_events}. Every method must
+ * be called inside the transaction that changes the order, so an event is
+ * committed if and only if its change is.
+ *
+ * <p>Set-based status updates write their events from SQL, see
+ * {@code OrderRepository#updateStatusByIdIn}; their payload has the shape of
+ * {@link StatusChanged}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderEventRepository orderEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void orderCreated(OrderSnapshot order) {
+        ordersCreated(List.of(order));
+    }
+
+    public void ordersCreated(List<OrderSnapshot> orders) {
+        if (orders.isEmpty()) return;
+
+        int size = orders.size();
+        Long[] orderIds = new Long[size];
+        String[] eventTypes = new String[size];
+        String[] payloads = new String[size];
+        for (int i = 0; i < size; i++) {
+            OrderSnapshot order = orders.get(i);
+            orderIds[i] = order.order().id();
+            eventTypes[i] = OrderEventType.ORDER_CREATED.name();
+            payloads[i] = toJson(new Created(order.order().id(), order.userId(), order.order()));
+        }
+        orderEventRepository.insertAll(orderIds, eventTypes, payloads);
+    }
+
+    public void statusChanged(OrderSnapshot order, Status previousStatus) {
+        GetOrderDtoWithoutUser dto = order.order();
+        append(dto.id(), OrderEventType.ORDER_STATUS_CHANGED,
+            new StatusChanged(dto.id(), order.userId(), dto.status(), previousStatus, dto.version()));
+    }
+
+    public void orderDeleted(Long orderId, Long userId) {
+        append(orderId, OrderEventType.ORDER_DELETED, new Deleted(orderId, userId));
+    }
+
+    private void append(Long orderId, OrderEventType eventType, Object payload) {
+        orderEventRepository.insertAll(
+            new Long[] {orderId}, new String[] {eventType.name()}, new String[] {toJson(payload)});
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    record Created(Long orderId, Long userId, GetOrderDtoWithoutUser order) {}
+
+    record StatusChanged(Long orderId, Long userId, Status status, Status previousStatus, Long version) {}
+
+    record Deleted(Long orderId, Long userId) {}
+}
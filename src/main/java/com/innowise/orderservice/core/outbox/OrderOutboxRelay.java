@@ -0,0 +1,230 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.innowise.orderservice.api.dto.event.OrderEventDto;
+import com.innowise.orderservice.core.dao.OrderEventRepository;
+import com.innowise.orderservice.core.entity.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains {@code order_events} to the {@link OrderEventPublisher}. Each batch
+ * is locked with {@code FOR UPDATE SKIP LOCKED}, published and deleted in one
+ * transaction, so relays on several instances share the backlog without
+ * publishing an event twice unless a batch fails after it was handed over.
+ * Full batches are drained back to back; otherwise the relay waits for the
+ * next poll.
+ *
+ * <p>Events of a failed batch are held back and then retried one at a time,
+ * each backing off exponentially from the poll interval up to
+ * {@code order.outbox.relay.max-backoff}, so an event the publisher keeps
+ * rejecting does not hold up the rest of the backlog. After
+ * {@code order.outbox.relay.max-attempts} it is dead-lettered: it stays in
+ * the table but no longer blocks later events of its order, and
+ * {@code orders.outbox.dead.lettered} is incremented, which should page.
+ * With the defaults an event gets about half an hour of attempts, so a
+ * publisher outage longer than that dead-letters events as well.
+ */
+@Component
+@ConditionalOnProperty(name = "order.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration maxBackoff;
+    private final Timer batchDuration;
+    private final Timer lag;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter deadLettered;
+    private final AtomicReference<Instant> oldestEventCreatedAt = new AtomicReference<>();
+
+    private ScheduledFuture<?> schedule;
+
+    public OrderOutboxRelay(OrderEventRepository orderEventRepository,
+                            OrderEventPublisher publisher,
+                            @Qualifier("transactionTemplate") TransactionTemplate transactionTemplate,
+                            TaskScheduler taskScheduler,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.outbox.relay.poll-interval:500ms}") Duration pollInterval,
+                            @Value("${order.outbox.relay.batch-size:500}") int batchSize,
+                            @Value("${order.outbox.relay.max-attempts:15}") int maxAttempts,
+                            @Value("${order.outbox.relay.max-backoff:5m}") Duration maxBackoff) {
+        this.orderEventRepository = orderEventRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoff = maxBackoff;
+        this.batchDuration = Timer.builder("orders.outbox.batch")
+            .description("Time to lock, publish and delete one batch of outbox events")
+            .register(meterRegistry);
+        this.lag = Timer.builder("orders.outbox.lag")
+            .description("Time from writing an outbox event to publishing it")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.published = Counter.builder("orders.outbox.published")
+            .baseUnit("events")
+            .register(meterRegistry);
+        this.failures = Counter.builder("orders.outbox.failures")
+            .description("Polls that stopped on a failed batch")
+            .register(meterRegistry);
+        this.deadLettered = Counter.builder("orders.outbox.dead.lettered")
+            .description("Events given up on after the last publish attempt")
+            .baseUnit("events")
+            .register(meterRegistry);
+        // aged at read time, so it keeps growing while polls fail
+        Gauge.builder("orders.outbox.oldest.age", this, OrderOutboxRelay::oldestEventAgeMillis)
+            .description("Age of the oldest unpublished outbox event found by the last poll")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        schedule = taskScheduler.scheduleWithFixedDelay(this::drain, Instant.now().plus(pollInterval), pollInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        schedule.cancel(false);
+    }
+
+    void drain() {
+        try {
+            while (batchDuration.record(this::relayBatch)) {
+                // full batches and retried events are followed by the next batch right away
+            }
+        } catch (RuntimeException ex) {
+            failures.increment();
+            logger.warn("Order outbox relay failed, retrying in {}", pollInterval, ex);
+        } finally {
+            refreshOldestEvent();
+        }
+    }
+
+    /**
+     * Publishes the next batch and returns whether another one may be
+     * waiting: {@code false} once the backlog is empty, held by other relays
+     * or not yet due. A batch that holds a retried event publishes only that
+     * event.
+     */
+    boolean relayBatch() {
+        AtomicReference<List<OrderEvent>> attempted = new AtomicReference<>(List.of());
+        List<OrderEvent> events;
+        try {
+            events = transactionTemplate.execute(status -> {
+                List<OrderEvent> batch = retriedFirst(orderEventRepository.lockNextBatch(batchSize));
+                attempted.set(batch);
+                if (batch.isEmpty()) return batch;
+
+                publisher.publish(batch.stream()
+                    .map(event -> new OrderEventDto(event.getId(), event.getEventType(), event.getOrderId(),
+                        event.getCreatedAt(), event.getPayload()))
+                    .toList());
+                orderEventRepository.deleteByIdIn(ids(batch));
+                return batch;
+            });
+        } catch (RuntimeException ex) {
+            try {
+                recordFailure(attempted.get());
+            } catch (RuntimeException recordFailure) {
+                ex.addSuppressed(recordFailure);
+            }
+            throw ex;
+        }
+
+        Instant now = Instant.now();
+        for (OrderEvent event : events) {
+            lag.record(Duration.between(event.getCreatedAt(), now).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        published.increment(events.size());
+        return events.size() == batchSize || isRetry(events);
+    }
+
+    private List<OrderEvent> retriedFirst(List<OrderEvent> batch) {
+        return batch.stream()
+            .filter(event -> event.getAttempts() > 0)
+            .findFirst()
+            .map(List::of)
+            .orElse(batch);
+    }
+
+    private boolean isRetry(List<OrderEvent> events) {
+        return events.size() == 1 && events.get(0).getAttempts() > 0;
+    }
+
+    /**
+     * A lone event has been isolated from its batch, so it is the one the
+     * publisher rejects and runs down its attempts; events of a failed batch
+     * are only held back once before being retried alone.
+     */
+    private void recordFailure(List<OrderEvent> events) {
+        if (events.isEmpty()) return;
+
+        if (events.size() == 1 && events.get(0).getAttempts() + 1 >= maxAttempts) {
+            OrderEvent event = events.get(0);
+            transactionTemplate.executeWithoutResult(status -> orderEventRepository.deadLetter(event.getId()));
+            deadLettered.increment();
+            logger.error("Dead-lettered outbox event {} of order {} after {} attempts",
+                event.getId(), event.getOrderId(), maxAttempts);
+            return;
+        }
+
+        int attempts = events.stream().mapToInt(OrderEvent::getAttempts).max().orElse(0);
+        Duration delay = backoff(attempts);
+        transactionTemplate.executeWithoutResult(status ->
+            orderEventRepository.scheduleRetry(ids(events), delay.toMillis() / 1000.0));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = pollInterval.multipliedBy(1L << Math.min(attempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void refreshOldestEvent() {
+        try {
+            oldestEventCreatedAt.set(orderEventRepository.findCreatedAtOldestFirst(Limit.of(1)).stream()
+                .findFirst()
+                .orElse(null));
+        } catch (RuntimeException ex) {
+            logger.warn("Could not read the oldest outbox event", ex);
+        }
+    }
+
+    private double oldestEventAgeMillis() {
+        Instant oldest = oldestEventCreatedAt.get();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis();
+    }
+
+    private static Long[] ids(List<OrderEvent> events) {
+        return events.stream().map(OrderEvent::getId).toArray(Long[]::new);
+    }
+}
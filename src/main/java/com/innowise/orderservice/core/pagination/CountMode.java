@@ -0,0 +1,20 @@
+package com.innowise.orderservice.core.pagination;
+
+/**
+ * How the total of a paged listing is obtained. Exact status and overall
+ * totals are read from {@code order_status_stats}, which is only correct
+ * while the triggers on {@code orders} maintain it; writes that bypass them
+ * (such as {@code TRUNCATE} or a session with triggers disabled) leave it
+ * stale until {@link com.innowise.orderservice.core.stats.OrderStatsReconciler} next runs.
+ */
+public enum CountMode {
+    /** No total; the page only says whether another one follows. */
+    NONE,
+    /**
+     * The planner's estimate for status and overall totals, which follows
+     * table statistics; id filters are counted exactly.
+     */
+    ESTIMATED,
+    /** An exact count. */
+    EXACT;
+}
@@ -0,0 +1,76 @@
+package com.innowise.orderservice.core.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.dao.OrderStatusStatsRepository;
+import com.innowise.orderservice.core.entity.Status;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Totals for paged order listings. Exact status and overall totals are summed
+ * from {@code order_status_stats}, one row per status whatever the table
+ * size; estimates are the planner's row count for the filter, read with
+ * {@code EXPLAIN}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderCounter {
+
+    private final OrderRepository orderRepository;
+    private final OrderStatusStatsRepository orderStatusStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Long countAll(CountMode countMode) {
+        return switch (countMode) {
+            case NONE -> null;
+            case ESTIMATED -> estimate("SELECT 1 FROM orders");
+            case EXACT -> orderStatusStatsRepository.sumOrderCount();
+        };
+    }
+
+    /**
+     * Status names come from {@link Status}, so they are safe to inline into
+     * the estimated query, where the planner needs the literal values.
+     */
+    public Long countByStatuses(Collection<Status> statuses, CountMode countMode) {
+        if (statuses.isEmpty()) {
+            return countMode == CountMode.NONE ? null : 0L;
+        }
+
+        return switch (countMode) {
+            case NONE -> null;
+            case ESTIMATED -> estimate("SELECT 1 FROM orders WHERE status IN (" + statuses.stream()
+                .map(Status::name)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining("','", "'", "'")) + ")");
+            case EXACT -> orderStatusStatsRepository.sumOrderCountByStatusIn(statuses);
+        };
+    }
+
+    /**
+     * The id list bounds the result, so both modes count the matching orders
+     * exactly by primary key.
+     */
+    public Long countByIds(Collection<Long> ids, CountMode countMode) {
+        if (countMode == CountMode.NONE) {
+            return null;
+        }
+        return ids.isEmpty() ? 0L : orderRepository.countByIdIn(ids);
+    }
+
+    private long estimate(String query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query, String.class);
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable plan for " + query, ex);
+        }
+    }
+}
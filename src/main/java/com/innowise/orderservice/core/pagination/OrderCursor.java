@@ -0,0 +1,83 @@
+package com.innowise.orderservice.core.pagination;
+
+import com.innowise.orderservice.core.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque continuation token for keyset pagination over orders, seeking on
+ * {@code (creation_date, id)} in descending order.
+ */
+public final class OrderCursor {
+
+    public static final Sort SORT = Sort.by(
+        Sort.Order.desc("creationDate"),
+        Sort.Order.desc("id")
+    );
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 1000;
+
+    private static final String CREATION_DATE_KEY = "creationDate";
+    private static final String ID_KEY = "id";
+
+    private OrderCursor() {
+    }
+
+    public static ScrollPosition decode(String cursor) {
+        Key key = decodeKey(cursor);
+        if (key == null) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(CREATION_DATE_KEY, key.creationDate());
+        keys.put(ID_KEY, key.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Decodes the key of the last row seen, or {@code null} for the first page.
+     */
+    public static Key decodeKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            Instant creationDate = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new Key(creationDate, Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException(cursor, ex);
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            throw new IllegalArgumentException("Keyset position expected: " + position);
+        }
+
+        return encode(new Key(
+            (Instant) keyset.getKeys().get(CREATION_DATE_KEY),
+            ((Number) keyset.getKeys().get(ID_KEY)).longValue()
+        ));
+    }
+
+    public static String encode(Key key) {
+        String raw = key.creationDate().getEpochSecond() + ":" + key.creationDate().getNano() + ":" + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public record Key(Instant creationDate, Long id) {}
+}
@@ -16,7 +16,7 @@ public interface ItemService {
     Page<GetItemDto> getAllItems(Pageable pageable);
 
     @PreAuthorize("hasRole('ADMIN')")
-    GetItemDto updateItem(Long id, CreateItemDto createItemDto);
+    GetItemDto updateItem(Long id, CreateItemDto createItemDto, Long expectedVersion);
 
     @PreAuthorize("hasRole('ADMIN')")
     void deleteItem(Long id);
@@ -1,25 +1,72 @@
 package com.innowise.orderservice.core.service;
 
+import com.innowise.orderservice.api.dto.GetCountedPageDto;
+import com.innowise.orderservice.api.dto.GetCursorPageDto;
 import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderBatchResultDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderStatusBatchResultDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
 import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.pagination.CountMode;
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
 
 public interface OrderService {
 
     GetOrderDto createOrder(CreateOrderDto createOrderDto);
 
+    List<GetOrderBatchResultDto> createOrders(List<CreateOrderDto> createOrderDtos);
+
     GetOrderDto getOrderById(Long id);
 
+    Long getOrderVersion(Long id);
+
     Page<GetOrderDto> getOrdersByIds(List<Long> ids, Pageable pageable);
 
     Page<GetOrderDto> getOrdersByStatuses(List<Status> statuses, Pageable pageable);
 
     Page<GetOrderDto> getAllOrders(Pageable pageable);
 
-    GetOrderDto updateOrderStatus(Long id, Status status);
+    GetCursorPageDto<GetOrderDto> getAllOrders(String cursor, int size);
+
+    /**
+     * Offset pages whose total is obtained as {@code countMode} asks, rather
+     * than by an exact count on every page.
+     */
+    GetCountedPageDto<GetOrderDto> getAllOrders(Pageable pageable, CountMode countMode);
+
+    GetCountedPageDto<GetOrderDto> getOrdersByIds(List<Long> ids, Pageable pageable, CountMode countMode);
+
+    GetCountedPageDto<GetOrderDto> getOrdersByStatuses(List<Status> statuses, Pageable pageable, CountMode countMode);
+
+    GetCursorPageDto<GetOrderDto> getOrdersByIds(List<Long> ids, String cursor, int size);
+
+    GetCursorPageDto<GetOrderDto> getOrdersByStatuses(List<Status> statuses, String cursor, int size);
+
+    /**
+     * A user's orders, newest first, by keyset over
+     * {@code (user_id, creation_date, id)}.
+     */
+    GetCursorPageDto<GetOrderDto> getOrdersByUserId(Long userId, String cursor, int size);
+
+    GetCursorPageDto<GetOrderDto> getOrdersByUserEmail(String email, String cursor, int size);
+
+    GetOrderDto updateOrderStatus(Long id, Status status, Long expectedVersion);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    GetOrderStatusBatchResultDto updateOrderStatuses(UpdateOrderStatusBatchDto updateOrderStatusBatchDto);
 
     void deleteOrder(Long id);
+
+    /**
+     * Streams every order created in {@code [from, to)} to {@code sink} in
+     * chunks, oldest first, without holding more than two chunks in memory.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    void exportOrders(Instant from, Instant to, Consumer<List<GetOrderDto>> sink);
 }
@@ -0,0 +1,40 @@
+package com.innowise.orderservice.core.service;
+
+import com.innowise.orderservice.api.dto.stats.GetDailyStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetItemStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetOrderStatsDto;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * Order counts and revenue read from summary tables maintained alongside
+ * every order write, never from {@code orders} itself.
+ */
+public interface OrderStatsService {
+
+    @PreAuthorize("hasRole('ADMIN')")
+    GetOrderStatsDto getOrderStats();
+
+    /**
+     * Per day and status for orders created in {@code [from, to)}.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    List<GetDailyStatsDto> getDailyStats(LocalDate from, LocalDate to);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    GetItemStatsDto getItemStats(Long itemId);
+
+    @PreAuthorize("hasRole('ADMIN')")
+    Page<GetItemStatsDto> getAllItemStats(Pageable pageable);
+
+    /**
+     * Corrects the summaries against {@code orders} and {@code order_items}.
+     * Returns the number of summary rows changed, or -1 if another instance
+     * is already reconciling. Also run by the scheduler, so it carries no
+     * role check of its own.
+     */
+    int reconcile();
+}
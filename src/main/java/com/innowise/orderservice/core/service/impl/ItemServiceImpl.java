@@ -2,20 +2,25 @@ package com.innowise.orderservice.core.service.impl;
 
 import com.innowise.orderservice.api.dto.item.CreateItemDto;
 import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.core.cache.ItemCatalog;
 import com.innowise.orderservice.core.dao.ItemRepository;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.mapper.itemmapper.CreateItemMapper;
 import com.innowise.orderservice.core.mapper.itemmapper.GetItemMapper;
 import com.innowise.orderservice.core.service.ItemService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = "item.service", histogram = true)
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
@@ -23,6 +28,7 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final GetItemMapper getItemMapper;
     private final CreateItemMapper createItemMapper;
+    private final ItemCatalog itemCatalog;
 
     @Override
     @Transactional
@@ -30,34 +36,40 @@ public class ItemServiceImpl implements ItemService {
         Item item = createItemMapper.toEntity(createItemDto);
 
         Item savedItem = itemRepository.save(item);
+        itemCatalog.invalidateAfterCommit(savedItem.getId());
 
         return getItemMapper.toDto(savedItem);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public GetItemDto getItemById(Long id) {
-        Item item = itemRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
-        return getItemMapper.toDto(item);
+        return itemCatalog.get(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<GetItemDto> getAllItems(Pageable pageable) {
-        Page<Item> items = itemRepository.findAll(pageable);
-        return items.map(getItemMapper::toDto);
+        long loadedAt = itemCatalog.generation();
+        Page<GetItemDto> items = itemRepository.findAll(pageable).map(getItemMapper::toDto);
+
+        itemCatalog.putAll(items.getContent(), loadedAt);
+        return items;
     }
 
     @Override
     @Transactional
-    public GetItemDto updateItem(Long id, CreateItemDto createItemDto) {
+    public GetItemDto updateItem(Long id, CreateItemDto createItemDto, Long expectedVersion) {
         Item item = itemRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(item.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, id);
+        }
 
         createItemMapper.merge(item, createItemDto);
 
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = itemRepository.saveAndFlush(item);
+        itemCatalog.invalidateAfterCommit(id);
 
         return getItemMapper.toDto(savedItem);
     }
@@ -68,5 +80,6 @@ public class ItemServiceImpl implements ItemService {
         Item existedItem = itemRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Item not found: " + id));
         itemRepository.delete(existedItem);
+        itemCatalog.invalidateAfterCommit(id);
     }
 }
@@ -1,153 +1,757 @@
 package com.innowise.orderservice.core.service.impl;
 
 import com.innowise.orderservice.api.client.GetUserDto;
-import com.innowise.orderservice.api.client.UserClient;
+import com.innowise.orderservice.api.dto.GetCountedPageDto;
+import com.innowise.orderservice.api.dto.GetCursorPageDto;
+import com.innowise.orderservice.api.dto.item.GetItemDto;
 import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderBatchResultDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.GetOrderStatusBatchResultDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
 import com.innowise.orderservice.api.dto.order.orderitem.CreateOrderItemDto;
-import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.cache.ItemCatalog;
+import com.innowise.orderservice.core.client.CachedUserClient;
 import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.dao.projection.OrderItemRow;
+import com.innowise.orderservice.core.dao.projection.OrderKeyView;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.entity.Order;
 import com.innowise.orderservice.core.entity.OrderItem;
 import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.exception.InvalidRequestException;
 import com.innowise.orderservice.core.mapper.order.GetOrderDtoWithoutUserMapper;
+import com.innowise.orderservice.core.mapper.order.OrderItemRowAssembler;
+import com.innowise.orderservice.core.mapper.order.OrderSnapshot;
+import com.innowise.orderservice.core.mapper.order.OrderUserJoin;
+import com.innowise.orderservice.core.metrics.BasketMetrics;
+import com.innowise.orderservice.core.outbox.OrderOutbox;
+import com.innowise.orderservice.core.pagination.CountMode;
+import com.innowise.orderservice.core.pagination.OrderCounter;
+import com.innowise.orderservice.core.pagination.OrderCursor;
 import com.innowise.orderservice.core.service.OrderService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed(value = "order.service", histogram = true)
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final Comparator<OrderKeyView> NEWEST_FIRST = Comparator
+        .comparing(OrderKeyView::getCreationDate)
+        .thenComparing(OrderKeyView::getId)
+        .reversed();
+
     private final OrderRepository orderRepository;
-    private final ItemRepository itemRepository;
-    private final UserClient userClient;
+    private final ItemCatalog itemCatalog;
+    private final CachedUserClient userClient;
     private final GetOrderDtoWithoutUserMapper getOrderDtoWithoutUserMapper;
+    private final OrderItemRowAssembler orderItemRowAssembler;
+    private final OrderCounter orderCounter;
+    private final OrderOutbox orderOutbox;
+    private final Validator validator;
+    private final BasketMetrics basketMetrics;
+
+    @Qualifier("transactionTemplate")
+    private final TransactionTemplate transactionTemplate;
+
+    @Qualifier("readOnlyTransactionTemplate")
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Qualifier("userLookupExecutor")
+    private final AsyncTaskExecutor userLookupExecutor;
 
     @Override
-    @Transactional
     public GetOrderDto createOrder(CreateOrderDto createOrderDto) {
-        GetUserDto getUserDto = userClient.getUserByEmail(createOrderDto.userEmail());
+        Future<GetUserDto> user = fork(() -> userClient.getUserByEmail(createOrderDto.userEmail()));
+
+        Map<Long, Integer> quantities = mergeQuantities(createOrderDto.items());
+        Map<Long, Item> items = cancelOnFailure(user, () -> {
+            Map<Long, Item> loadedItems = loadItems(quantities.keySet());
+
+            List<Long> missingIds = missingItemIds(quantities.keySet(), loadedItems);
+            if (!missingIds.isEmpty()) {
+                throw new EntityNotFoundException("Items not found: " + missingIds);
+            }
+            return loadedItems;
+        });
 
+        GetUserDto getUserDto = join(user);
         if (getUserDto.id() == -1L) {
             throw new RuntimeException("User service is unavailable, cannot create order.");
         }
 
-        Order order = new Order();
-        order.setUserId(getUserDto.id());
-        order.setStatus(Status.CREATED);
+        GetOrderDtoWithoutUser savedOrder = transactionTemplate.execute(status -> {
+            Order order = orderRepository.save(buildOrder(getUserDto.id(), quantities, items));
+            basketMetrics.record(order);
+
+            OrderSnapshot snapshot = snapshot(order);
+            orderOutbox.orderCreated(snapshot);
+            return snapshot.order();
+        });
+
+        return new GetOrderDto(savedOrder, getUserDto);
+    }
+
+    @Override
+    public List<GetOrderBatchResultDto> createOrders(List<CreateOrderDto> createOrderDtos) {
+        if (createOrderDtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException(
+                "Batch must not contain more than " + MAX_BATCH_SIZE + " orders");
+        }
+
+        GetOrderBatchResultDto[] results = new GetOrderBatchResultDto[createOrderDtos.size()];
+
+        for (int i = 0; i < createOrderDtos.size(); i++) {
+            String error = validate(createOrderDtos.get(i));
+            if (error != null) {
+                results[i] = new GetOrderBatchResultDto(i, false, null, error);
+            }
+        }
+
+        Map<String, Future<GetUserDto>> lookups = new LinkedHashMap<>();
+        for (int i = 0; i < createOrderDtos.size(); i++) {
+            if (results[i] != null) continue;
+
+            String email = createOrderDtos.get(i).userEmail();
+            lookups.computeIfAbsent(email, key -> fork(() -> userClient.getUserByEmail(key)));
+        }
+
+        Map<String, GetUserDto> users = new HashMap<>();
+        Map<String, String> userErrors = new HashMap<>();
+        lookups.forEach((email, lookup) -> resolveUser(email, lookup, users, userErrors));
+
+        for (int i = 0; i < createOrderDtos.size(); i++) {
+            if (results[i] != null) continue;
+
+            String email = createOrderDtos.get(i).userEmail();
+            if (userErrors.containsKey(email)) {
+                results[i] = new GetOrderBatchResultDto(i, false, null, userErrors.get(email));
+            }
+        }
+
+        List<PendingOrder> pending = new ArrayList<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (int i = 0; i < createOrderDtos.size(); i++) {
+            if (results[i] != null) continue;
+
+            Map<Long, Integer> quantities = mergeQuantities(createOrderDtos.get(i).items());
+            pending.add(new PendingOrder(i, users.get(createOrderDtos.get(i).userEmail()), quantities));
+            itemIds.addAll(quantities.keySet());
+        }
+
+        Map<Long, Item> items = loadItems(itemIds);
+
+        List<PendingOrder> orders = new ArrayList<>();
+        for (PendingOrder order : pending) {
+            List<Long> missingIds = missingItemIds(order.quantities().keySet(), items);
+            if (missingIds.isEmpty()) {
+                orders.add(order);
+            } else {
+                results[order.index()] = new GetOrderBatchResultDto(
+                    order.index(), false, null, "Items not found: " + missingIds);
+            }
+        }
+
+        try {
+            saveOrders(orders, items, results);
+        } catch (RuntimeException ex) {
+            // One order rolled the whole batch back; save them one by one to isolate it
+            for (PendingOrder order : orders) {
+                try {
+                    saveOrders(List.of(order), items, results);
+                } catch (RuntimeException orderEx) {
+                    results[order.index()] = new GetOrderBatchResultDto(
+                        order.index(), false, null, "Order could not be saved: " + orderEx.getMessage());
+                }
+            }
+        }
+
+        return List.of(results);
+    }
+
+    private void saveOrders(List<PendingOrder> pending,
+                            Map<Long, Item> items,
+                            GetOrderBatchResultDto[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Order> orders = pending.stream()
+            .map(order -> buildOrder(order.user().id(), order.quantities(), items))
+            .toList();
+
+        List<OrderSnapshot> snapshots = transactionTemplate.execute(status -> {
+            List<OrderSnapshot> savedOrders = orderRepository.saveAll(orders).stream()
+                .map(this::snapshot)
+                .toList();
+            orderOutbox.ordersCreated(savedOrders);
+            return savedOrders;
+        });
+
+        orders.forEach(basketMetrics::record);
+        for (int k = 0; k < snapshots.size(); k++) {
+            PendingOrder order = pending.get(k);
+            GetOrderDto getOrderDto = new GetOrderDto(snapshots.get(k).order(), order.user());
+            results[order.index()] = new GetOrderBatchResultDto(order.index(), true, getOrderDto, null);
+        }
+    }
+
+    @Override
+    public void exportOrders(Instant from, Instant to, Consumer<List<GetOrderDto>> sink) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Export period start must be before its end");
+        }
+
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            OrderExport export = new OrderExport(sink);
+            try (Stream<OrderItemRow> rows = orderRepository.streamRowsByCreationDateBetween(from, to)) {
+                orderItemRowAssembler.assemble(rows, export::add);
+                export.finish();
+            } catch (RuntimeException ex) {
+                export.cancel();
+                throw ex;
+            }
+        });
+    }
+
+    private String validate(CreateOrderDto createOrderDto) {
+        if (createOrderDto == null) {
+            return "Order must not be null";
+        }
 
-        for(CreateOrderItemDto itemDto : createOrderDto.items()) {
+        Set<ConstraintViolation<CreateOrderDto>> violations = validator.validate(createOrderDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private void resolveUser(String email,
+                             Future<GetUserDto> lookup,
+                             Map<String, GetUserDto> users,
+                             Map<String, String> userErrors) {
+        try {
+            GetUserDto getUserDto = join(lookup);
+            if (getUserDto.id() == -1L) {
+                userErrors.put(email, "User service is unavailable, cannot create order.");
+            } else {
+                users.put(email, getUserDto);
+            }
+        } catch (RuntimeException ex) {
+            userErrors.put(email, "User lookup failed: " + ex.getMessage());
+        }
+    }
+
+    private Map<Long, Integer> mergeQuantities(List<CreateOrderItemDto> itemDtos) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CreateOrderItemDto itemDto : itemDtos) {
+            quantities.merge(itemDto.itemId(), itemDto.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private Map<Long, Item> loadItems(Set<Long> itemIds) {
+        return itemCatalog.getAll(itemIds).values().stream()
+            .collect(Collectors.toMap(GetItemDto::id, item -> new Item(item.id(), item.name(), item.price(), item.version())));
+    }
+
+    private List<Long> missingItemIds(Set<Long> itemIds, Map<Long, Item> items) {
+        return itemIds.stream()
+            .filter(itemId -> !items.containsKey(itemId))
+            .toList();
+    }
 
-            Item item = itemRepository.findById(itemDto.itemId())
-                .orElseThrow(() -> new EntityNotFoundException("Item not found: " + itemDto.itemId()));
+    private Order buildOrder(Long userId, Map<Long, Integer> quantities, Map<Long, Item> items) {
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setStatus(Status.CREATED);
 
+        quantities.forEach((itemId, quantity) -> {
             OrderItem orderItem = new OrderItem();
-            orderItem.setQuantity(itemDto.quantity());
-            orderItem.setItem(item);
+            orderItem.setQuantity(quantity);
+            orderItem.setItem(items.get(itemId));
             orderItem.setOrder(order);
 
             order.getOrderItems().add(orderItem);
-        }
-
-        Order savedOrder = orderRepository.save(order);
+        });
 
-        return new GetOrderDto(
-            getOrderDtoWithoutUserMapper.toDto(savedOrder),
-            getUserDto
-        );
+        return order;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public GetOrderDto getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id));
+        Long userId = findUserId(id);
+        Future<GetUserDto> user = fork(() -> userClient.getUserById(userId));
 
-        GetUserDto getUserDto = userClient.getUserById(order.getUserId());
+        OrderSnapshot order = cancelOnFailure(user, () ->
+            readOnlyTransactionTemplate.execute(status -> snapshot(findOrder(id))));
+        return complete(order, userId, user);
+    }
 
-        return new GetOrderDto(
-            getOrderDtoWithoutUserMapper.toDto(order),
-            getUserDto
-        );
+    @Override
+    public Long getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<GetOrderDto> getOrdersByIds(List<Long> ids, Pageable pageable) {
-        Page<Order> orders = orderRepository.findAllByIdIn(ids, pageable);
+        Page<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotPage(orderRepository.findIdsByIdIn(ids, pageable)));
         return mapOrdersToGetDtos(orders);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<GetOrderDto> getOrdersByStatuses(List<Status> statuses, Pageable pageable) {
-        Page<Order> orders = orderRepository.findAllByStatusIn(statuses, pageable);
+        Page<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotPage(orderRepository.findIdsByStatusIn(statuses, pageable)));
         return mapOrdersToGetDtos(orders);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Page<GetOrderDto> getAllOrders(Pageable pageable) {
-        Page<Order> orders = orderRepository.findAll(pageable);
+        Page<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotPage(orderRepository.findAllIds(pageable)));
         return mapOrdersToGetDtos(orders);
     }
 
-    private Page<GetOrderDto> mapOrdersToGetDtos(Page<Order> orders) {
+    @Override
+    public GetCountedPageDto<GetOrderDto> getAllOrders(Pageable pageable, CountMode countMode) {
+        Slice<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotSlice(orderRepository.findAllIdsSlice(pageable)));
+        return countedPage(orders, countMode, () -> orderCounter.countAll(countMode));
+    }
+
+    @Override
+    public GetCountedPageDto<GetOrderDto> getOrdersByIds(List<Long> ids, Pageable pageable, CountMode countMode) {
+        Slice<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotSlice(orderRepository.findIdsSliceByIdIn(ids, pageable)));
+        return countedPage(orders, countMode, () -> orderCounter.countByIds(ids, countMode));
+    }
+
+    @Override
+    public GetCountedPageDto<GetOrderDto> getOrdersByStatuses(List<Status> statuses, Pageable pageable,
+                                                              CountMode countMode) {
+        Slice<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status ->
+            snapshotSlice(orderRepository.findIdsSliceByStatusIn(statuses, pageable)));
+        return countedPage(orders, countMode, () -> orderCounter.countByStatuses(statuses, countMode));
+    }
+
+    private GetCountedPageDto<GetOrderDto> countedPage(Slice<OrderSnapshot> orders, CountMode countMode,
+                                                       Supplier<Long> total) {
+        Long totalElements;
+        CountMode usedMode;
+        if (!orders.hasNext() && (orders.hasContent() || orders.isFirst())) {
+            totalElements = orders.getPageable().isPaged()
+                ? orders.getPageable().getOffset() + orders.getNumberOfElements()
+                : orders.getNumberOfElements();
+            usedMode = CountMode.EXACT;
+        } else {
+            totalElements = total.get();
+            usedMode = countMode;
+        }
+
+        return new GetCountedPageDto<>(
+            mapOrdersToGetDtos(orders.getContent()),
+            orders.getNumber(),
+            orders.getSize(),
+            orders.hasNext(),
+            totalElements,
+            usedMode
+        );
+    }
+
+    @Override
+    public GetCursorPageDto<GetOrderDto> getAllOrders(String cursor, int size) {
+        return scrollOrders(cursor, size, (position, limit) ->
+            orderRepository.findKeysBy(position, limit, OrderCursor.SORT));
+    }
+
+    @Override
+    public GetCursorPageDto<GetOrderDto> getOrdersByIds(List<Long> ids, String cursor, int size) {
+        return scrollOrders(cursor, size, (position, limit) ->
+            orderRepository.findKeysByIdIn(ids, position, limit, OrderCursor.SORT));
+    }
+
+    @Override
+    public GetCursorPageDto<GetOrderDto> getOrdersByStatuses(List<Status> statuses, String cursor, int size) {
+        OrderCursor.Key after = OrderCursor.decodeKey(cursor);
+        int pageSize = OrderCursor.normalizeSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        GetCursorPageDto<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status -> {
+            // A generic plan for status = ? cannot use the partial indexes
+            orderRepository.forceCustomPlans();
+            return keysetPage(statuses.stream()
+                .distinct()
+                .flatMap(orderStatus -> (after == null
+                    ? orderRepository.findKeysByStatus(orderStatus, limit)
+                    : orderRepository.findKeysByStatusAfter(orderStatus, after.creationDate(), after.id(), limit))
+                    .stream())
+                .sorted(NEWEST_FIRST)
+                .toList(), pageSize);
+        });
+
+        return new GetCursorPageDto<>(
+            mapOrdersToGetDtos(orders.content()),
+            orders.size(),
+            orders.hasNext(),
+            orders.nextCursor()
+        );
+    }
+
+    @Override
+    public GetCursorPageDto<GetOrderDto> getOrdersByUserId(Long userId, String cursor, int size) {
+        Future<GetUserDto> user = fork(() -> userClient.getUserById(userId));
+
+        GetCursorPageDto<OrderSnapshot> orders = cancelOnFailure(user, () -> loadHistory(userId, cursor, size));
+        return withUser(orders, join(user));
+    }
+
+    @Override
+    public GetCursorPageDto<GetOrderDto> getOrdersByUserEmail(String email, String cursor, int size) {
+        GetUserDto getUserDto = userClient.getUserByEmail(email);
+        if (getUserDto.id() == -1L) {
+            throw new RuntimeException("User service is unavailable, cannot load order history.");
+        }
+
+        return withUser(loadHistory(getUserDto.id(), cursor, size), getUserDto);
+    }
+
+    private GetCursorPageDto<OrderSnapshot> loadHistory(Long userId, String cursor, int size) {
+        OrderCursor.Key after = OrderCursor.decodeKey(cursor);
+        int pageSize = OrderCursor.normalizeSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        return readOnlyTransactionTemplate.execute(status -> keysetPage(after == null
+            ? orderRepository.findHistoryKeysByUserId(userId, limit)
+            : orderRepository.findHistoryKeysByUserIdAfter(userId, after.creationDate(), after.id(), limit),
+            pageSize));
+    }
+
+    private GetCursorPageDto<OrderSnapshot> keysetPage(List<OrderKeyView> keys, int pageSize) {
+        boolean hasNext = keys.size() > pageSize;
+        List<OrderKeyView> page = hasNext ? keys.subList(0, pageSize) : keys;
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderKeyView last = page.get(page.size() - 1);
+            nextCursor = OrderCursor.encode(new OrderCursor.Key(last.getCreationDate(), last.getId()));
+        }
+
+        return new GetCursorPageDto<>(
+            loadSnapshots(page.stream().map(OrderKeyView::getId).toList()),
+            page.size(),
+            hasNext,
+            nextCursor
+        );
+    }
+
+    private GetCursorPageDto<GetOrderDto> withUser(GetCursorPageDto<OrderSnapshot> orders, GetUserDto getUserDto) {
+        return new GetCursorPageDto<>(
+            orders.content().stream()
+                .map(order -> new GetOrderDto(order.order(), getUserDto))
+                .toList(),
+            orders.size(),
+            orders.hasNext(),
+            orders.nextCursor()
+        );
+    }
+
+    private GetCursorPageDto<GetOrderDto> scrollOrders(String cursor, int size,
+                                                       BiFunction<ScrollPosition, Limit, Window<OrderKeyView>> query) {
+        ScrollPosition position = OrderCursor.decode(cursor);
+        Limit limit = Limit.of(OrderCursor.normalizeSize(size));
+
+        GetCursorPageDto<OrderSnapshot> orders = readOnlyTransactionTemplate.execute(status -> {
+            Window<OrderKeyView> window = query.apply(position, limit);
+
+            String nextCursor = window.hasNext() && !window.isEmpty()
+                ? OrderCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+
+            return new GetCursorPageDto<>(
+                loadSnapshots(window.getContent().stream().map(OrderKeyView::getId).toList()),
+                window.size(),
+                nextCursor != null,
+                nextCursor
+            );
+        });
+
+        return new GetCursorPageDto<>(
+            mapOrdersToGetDtos(orders.content()),
+            orders.size(),
+            orders.hasNext(),
+            orders.nextCursor()
+        );
+    }
+
+    private Page<GetOrderDto> mapOrdersToGetDtos(Page<OrderSnapshot> orders) {
         if (orders.isEmpty()) return Page.empty(orders.getPageable());
 
+        return new PageImpl<>(
+            mapOrdersToGetDtos(orders.getContent()),
+            orders.getPageable(),
+            orders.getTotalElements()
+        );
+    }
+
+    private List<GetOrderDto> mapOrdersToGetDtos(List<OrderSnapshot> orders) {
+        if (orders.isEmpty()) return List.of();
+
         List<GetUserDto> getUserDtos = userClient.getAllById(
-            orders.getContent().stream()
-                .map(Order::getUserId)
+            orders.stream()
+                .map(OrderSnapshot::userId)
                 .collect(Collectors.toList()));
 
-        Map<Long, GetUserDto> getUserDtosMap = getUserDtos.stream()
-            .collect(Collectors.toMap(
-                GetUserDto::id, dto -> dto
-            ));
+        return OrderUserJoin.join(orders, getUserDtos);
+    }
 
-        return orders.map(order -> {
-                return new GetOrderDto(
-                    getOrderDtoWithoutUserMapper.toDto(order),
-                    getUserDtosMap.get(order.getUserId())
-                );
-            });
+    @Override
+    public GetOrderDto updateOrderStatus(Long id, Status status, Long expectedVersion) {
+        Long userId = findUserId(id);
+        Future<GetUserDto> user = fork(() -> userClient.getUserById(userId));
+
+        OrderSnapshot savedOrder = cancelOnFailure(user, () -> transactionTemplate.execute(transactionStatus -> {
+            Order order = findOrder(id);
+            if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Order.class, id);
+            }
+
+            Status previousStatus = order.getStatus();
+            order.setStatus(status);
+            OrderSnapshot snapshot = snapshot(orderRepository.saveAndFlush(order));
+            if (previousStatus != status) {
+                orderOutbox.statusChanged(snapshot, previousStatus);
+            }
+            return snapshot;
+        }));
+
+        return complete(savedOrder, userId, user);
     }
 
     @Override
-    @Transactional
-    public GetOrderDto updateOrderStatus(Long id, Status status) {
-        Order order = orderRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id));
-        order.setStatus(status);
+    public GetOrderStatusBatchResultDto updateOrderStatuses(UpdateOrderStatusBatchDto updateOrderStatusBatchDto) {
+        Status fromStatus = updateOrderStatusBatchDto.fromStatus();
+        Status toStatus = updateOrderStatusBatchDto.toStatus();
 
-        Order savedOrder = orderRepository.save(order);
+        if (updateOrderStatusBatchDto.ids() == null) {
+            Integer updated = transactionTemplate.execute(status ->
+                orderRepository.updateStatusByStatus(fromStatus.name(), toStatus.name()));
+            return new GetOrderStatusBatchResultDto(updated, 0);
+        }
 
-        GetUserDto getUserDto = userClient.getUserById(savedOrder.getUserId());
+        Long[] ids = updateOrderStatusBatchDto.ids().stream()
+            .distinct()
+            .toArray(Long[]::new);
+        if (ids.length == 0) {
+            return new GetOrderStatusBatchResultDto(0, 0);
+        }
 
-        return new GetOrderDto(
-            getOrderDtoWithoutUserMapper.toDto(savedOrder),
-            getUserDto
-        );
+        Integer updated = transactionTemplate.execute(status ->
+            orderRepository.updateStatusByIdIn(ids, fromStatus.name(), toStatus.name()));
+        return new GetOrderStatusBatchResultDto(updated, ids.length - updated);
     }
 
     @Override
-    @Transactional
     public void deleteOrder(Long id) {
-        Order existingOrder = orderRepository.findById(id)
+        Long userId = readOnlyTransactionTemplate.execute(status -> orderRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id))
+            .getUserId());
+
+        userClient.getUserById(userId);
+
+        // The owner check runs between transactions, so the order may be gone by now
+        transactionTemplate.executeWithoutResult(status -> orderRepository.findById(id).ifPresent(order -> {
+            orderRepository.delete(order);
+            orderOutbox.orderDeleted(id, order.getUserId());
+        }));
+    }
+
+    private Long findUserId(Long id) {
+        return readOnlyTransactionTemplate.execute(status -> orderRepository.findUserIdById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id)));
+    }
+
+    private Order findOrder(Long id) {
+        return orderRepository.findWithItemsById(id)
             .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id));
+    }
+
+    private Page<OrderSnapshot> snapshotPage(Page<Long> ids) {
+        return new PageImpl<>(loadSnapshots(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private Slice<OrderSnapshot> snapshotSlice(Slice<Long> ids) {
+        return new SliceImpl<>(loadSnapshots(ids.getContent()), ids.getPageable(), ids.hasNext());
+    }
+
+    private List<OrderSnapshot> loadSnapshots(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return orderItemRowAssembler.assemble(ids, orderRepository.findRowsByIdIn(ids));
+    }
+
+    private OrderSnapshot snapshot(Order order) {
+        return new OrderSnapshot(getOrderDtoWithoutUserMapper.toDto(order), order.getUserId());
+    }
+
+    private GetOrderDto complete(OrderSnapshot order, Long userId, Future<GetUserDto> user) {
+        if (!userId.equals(order.userId())) {
+            user.cancel(true);
+            return new GetOrderDto(order.order(), userClient.getUserById(order.userId()));
+        }
+        return new GetOrderDto(order.order(), join(user));
+    }
+
+    private <T> Future<T> fork(Callable<T> lookup) {
+        try {
+            return userLookupExecutor.submit(lookup);
+        } catch (RejectedExecutionException ex) {
+            return new DeferredLookup<>(lookup);
+        }
+    }
+
+    private <T> T cancelOnFailure(Future<?> lookup, Supplier<T> work) {
+        try {
+            return work.get();
+        } catch (RuntimeException ex) {
+            lookup.cancel(true);
+            throw ex;
+        }
+    }
+
+    private <T> T join(Future<T> lookup) {
+        try {
+            return lookup.get();
+        } catch (InterruptedException ex) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for user-service", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
 
-        userClient.getUserById(existingOrder.getUserId());
+    /**
+     * A lookup the executor rejected. It runs on the thread that joins it,
+     * outside any transaction.
+     */
+    private static final class DeferredLookup<T> extends FutureTask<T> {
 
-        orderRepository.deleteById(id);
+        private DeferredLookup(Callable<T> lookup) {
+            super(lookup);
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            run();
+            return super.get();
+        }
+    }
+
+    private record PendingOrder(int index, GetUserDto user, Map<Long, Integer> quantities) {}
+
+    private record PendingChunk(List<OrderSnapshot> orders, Future<List<GetUserDto>> users) {}
+
+    private final class OrderExport {
+
+        private final Consumer<List<GetOrderDto>> sink;
+        private List<OrderSnapshot> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        private PendingChunk pending;
+
+        private OrderExport(Consumer<List<GetOrderDto>> sink) {
+            this.sink = sink;
+        }
+
+        private void add(OrderSnapshot order) {
+            chunk.add(order);
+            if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                submitChunk();
+            }
+        }
+
+        private void finish() {
+            submitChunk();
+            writePending();
+        }
+
+        private void cancel() {
+            if (pending != null) {
+                pending.users().cancel(true);
+            }
+        }
+
+        private void submitChunk() {
+            if (chunk.isEmpty()) return;
+
+            List<OrderSnapshot> orders = chunk;
+            chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            List<Long> userIds = orders.stream().map(OrderSnapshot::userId).distinct().toList();
+
+            Future<List<GetUserDto>> users = fork(() -> userClient.getAllById(userIds));
+            cancelOnFailure(users, () -> {
+                writePending();
+                return null;
+            });
+            pending = new PendingChunk(orders, users);
+        }
+
+        private void writePending() {
+            if (pending == null) return;
+
+            sink.accept(OrderUserJoin.join(pending.orders(), join(pending.users())));
+            pending = null;
+        }
     }
 }
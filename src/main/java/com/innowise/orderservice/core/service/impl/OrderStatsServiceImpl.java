@@ -0,0 +1,131 @@
+package com.innowise.orderservice.core.service.impl;
+
+import com.innowise.orderservice.api.dto.stats.GetDailyStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetItemStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetOrderStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetStatusStatsDto;
+import com.innowise.orderservice.core.dao.OrderDailyStatsRepository;
+import com.innowise.orderservice.core.dao.OrderItemStatsRepository;
+import com.innowise.orderservice.core.dao.OrderStatusStatsRepository;
+import com.innowise.orderservice.core.entity.OrderStatusStats;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.exception.InvalidRequestException;
+import com.innowise.orderservice.core.mapper.stats.DailyStatsMapper;
+import com.innowise.orderservice.core.mapper.stats.ItemStatsMapper;
+import com.innowise.orderservice.core.mapper.stats.StatusStatsMapper;
+import com.innowise.orderservice.core.service.OrderStatsService;
+import io.micrometer.core.annotation.Timed;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@Timed(value = "order.stats.service", histogram = true)
+@RequiredArgsConstructor
+public class OrderStatsServiceImpl implements OrderStatsService {
+
+    private static final int MAX_DAILY_RANGE_DAYS = 366;
+
+    private final OrderStatusStatsRepository orderStatusStatsRepository;
+    private final OrderDailyStatsRepository orderDailyStatsRepository;
+    private final OrderItemStatsRepository orderItemStatsRepository;
+    private final StatusStatsMapper statusStatsMapper;
+    private final DailyStatsMapper dailyStatsMapper;
+    private final ItemStatsMapper itemStatsMapper;
+
+    @Qualifier("transactionTemplate")
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public GetOrderStatsDto getOrderStats() {
+        Map<Status, OrderStatusStats> stats = orderStatusStatsRepository.findAll().stream()
+            .collect(Collectors.toMap(OrderStatusStats::getStatus, Function.identity()));
+
+        List<GetStatusStatsDto> statuses = Arrays.stream(Status.values())
+            .map(status -> stats.containsKey(status)
+                ? statusStatsMapper.toDto(stats.get(status))
+                : new GetStatusStatsDto(status, 0L, BigDecimal.ZERO))
+            .toList();
+
+        return new GetOrderStatsDto(
+            statuses.stream().mapToLong(GetStatusStatsDto::orderCount).sum(),
+            statuses.stream().map(GetStatusStatsDto::revenue).reduce(BigDecimal.ZERO, BigDecimal::add),
+            statuses
+        );
+    }
+
+    @Override
+    public List<GetDailyStatsDto> getDailyStats(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Stats period start must be before its end");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_DAILY_RANGE_DAYS) {
+            throw new InvalidRequestException(
+                "Stats period must not be longer than " + MAX_DAILY_RANGE_DAYS + " days");
+        }
+
+        return dailyStatsMapper.toDtos(orderDailyStatsRepository.findByDayGreaterThanEqualAndDayLessThan(
+            from, to, Sort.by("day", "status")));
+    }
+
+    @Override
+    public GetItemStatsDto getItemStats(Long itemId) {
+        return orderItemStatsRepository.findById(itemId)
+            .map(itemStatsMapper::toDto)
+            .orElseGet(() -> new GetItemStatsDto(itemId, 0L, 0L, BigDecimal.ZERO));
+    }
+
+    @Override
+    public Page<GetItemStatsDto> getAllItemStats(Pageable pageable) {
+        return orderItemStatsRepository.findAll(pageable).map(itemStatsMapper::toDto);
+    }
+
+    /**
+     * Each table is corrected in its own transaction, so the summary rows a
+     * correction updates are only locked until that table is done. The
+     * status table, which every order write touches, goes last.
+     */
+    @Override
+    public int reconcile() {
+        Integer daily = reconcileLocked(() -> {
+            int corrected = orderDailyStatsRepository.reconcile();
+            orderDailyStatsRepository.deleteEmpty();
+            return corrected;
+        });
+        if (daily == null) return -1;
+
+        Integer items = reconcileLocked(() -> {
+            int corrected = orderItemStatsRepository.reconcile();
+            orderItemStatsRepository.deleteEmpty();
+            return corrected;
+        });
+        if (items == null) return -1;
+
+        Integer statuses = reconcileLocked(orderStatusStatsRepository::reconcile);
+        if (statuses == null) return -1;
+
+        return daily + items + statuses;
+    }
+
+    /**
+     * Returns {@code null} when another instance holds the reconciliation
+     * lock.
+     */
+    private Integer reconcileLocked(Supplier<Integer> correction) {
+        return transactionTemplate.execute(status ->
+            orderStatusStatsRepository.tryLockReconciliation() ? correction.get() : null);
+    }
+}
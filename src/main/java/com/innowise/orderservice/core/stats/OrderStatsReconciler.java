@@ -0,0 +1,75 @@
+package com.innowise.orderservice.core.stats;
+
+import com.innowise.orderservice.core.service.OrderStatsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically corrects drift in the order summaries: item price edits,
+ * which the triggers do not follow, and anything written with the triggers
+ * disabled. Only one instance corrects a summary table at a time.
+ */
+@Component
+@ConditionalOnProperty(name = "order.stats.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatsReconciler.class);
+
+    private final OrderStatsService orderStatsService;
+    private final TaskScheduler taskScheduler;
+    private final Duration interval;
+    private final Timer duration;
+    private final Counter corrections;
+
+    private ScheduledFuture<?> schedule;
+
+    public OrderStatsReconciler(OrderStatsService orderStatsService,
+                                TaskScheduler taskScheduler,
+                                MeterRegistry meterRegistry,
+                                @Value("${order.stats.reconciliation.interval:6h}") Duration interval) {
+        this.orderStatsService = orderStatsService;
+        this.taskScheduler = taskScheduler;
+        this.interval = interval;
+        this.duration = Timer.builder("orders.stats.reconciliation")
+            .register(meterRegistry);
+        this.corrections = Counter.builder("orders.stats.reconciliation.corrections")
+            .baseUnit("rows")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        schedule = taskScheduler.scheduleWithFixedDelay(this::reconcile, Instant.now().plus(interval), interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        schedule.cancel(false);
+    }
+
+    void reconcile() {
+        try {
+            int corrected = duration.record(orderStatsService::reconcile);
+            if (corrected < 0) {
+                logger.debug("Order stats reconciliation skipped: another instance holds the lock");
+            } else if (corrected > 0) {
+                corrections.increment(corrected);
+                logger.info("Order stats reconciliation corrected {} summary rows", corrected);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Order stats reconciliation failed, retrying in {}", interval, ex);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.innowise.orderservice.api.export;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.orderitem.GetOrderItemDto;
+import com.innowise.orderservice.core.entity.Status;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvOrderExportWriterTest {
+
+    private static final Instant CREATED = Instant.parse("2026-10-18T10:00:00Z");
+
+    private String export(String itemName, String email, BigDecimal price) throws Exception {
+        GetOrderItemDto orderItem = new GetOrderItemDto(3L, 2, new GetItemDto(4L, itemName, price, 0L));
+        GetOrderDto order = new GetOrderDto(
+            new GetOrderDtoWithoutUser(1L, Status.CREATED, CREATED, Set.of(orderItem), 0L),
+            new GetUserDto(2L, "John", "Doe", null, email, List.of()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvOrderExportWriter writer = new CsvOrderExportWriter(out);
+        writer.write(List.of(order));
+        writer.finish();
+
+        return out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+    }
+
+    @Test
+    void write_shouldQuoteSeparatorsAndQuotes() throws Exception {
+        assertThat(export("Phone, \"Pro\"", "john@mail.com", new BigDecimal("10.00")))
+            .isEqualTo("1,CREATED," + CREATED + ",2,john@mail.com,3,4,\"Phone, \"\"Pro\"\"\",10.00,2");
+    }
+
+    @Test
+    void write_shouldNeutralizeFormulaText() throws Exception {
+        assertThat(export("=HYPERLINK(\"http://x\",\"y\")", "@john@mail.com", new BigDecimal("10.00")))
+            .isEqualTo("1,CREATED," + CREATED + ",2,'@john@mail.com,3,4,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",10.00,2");
+
+        assertThat(export("+1", "john@mail.com", BigDecimal.ONE)).contains(",'+1,");
+        assertThat(export("-1", "john@mail.com", BigDecimal.ONE)).contains(",'-1,");
+        assertThat(export("\tname", "john@mail.com", BigDecimal.ONE)).contains(",'\tname,");
+    }
+
+    @Test
+    void write_shouldLeaveNumbersUnprefixed() throws Exception {
+        assertThat(export("Refund", "john@mail.com", new BigDecimal("-5.00"))).endsWith(",Refund,-5.00,2");
+    }
+}
@@ -0,0 +1,164 @@
+package com.innowise.orderservice.core.cache;
+
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.mapper.itemmapper.GetItemMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCatalogTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemCatalog itemCatalog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemCatalog = new ItemCatalog(itemRepository, new GetItemMapperImpl(), meterRegistry, Duration.ofMinutes(10), 100);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_shouldLoadOnlyOnce() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "Phone", BigDecimal.TEN, 0L)));
+
+        assertThat(itemCatalog.get(1L).name()).isEqualTo("Phone");
+        assertThat(itemCatalog.get(1L).name()).isEqualTo("Phone");
+
+        verify(itemRepository, times(1)).findById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldThrow_whenItemIsMissing() {
+        when(itemRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemCatalog.get(9L))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("Item not found: 9");
+    }
+
+    @Test
+    void getAll_shouldLoadOnlyMissesInOneQuery() {
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(new Item(1L, "Phone", BigDecimal.TEN, 0L)));
+        when(itemRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(new Item(2L, "Case", BigDecimal.ONE, 0L)));
+        itemCatalog.get(1L);
+
+        assertThat(itemCatalog.getAll(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 2L);
+
+        verify(itemRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void invalidateAfterCommit_shouldKeepEntryUntilCommit() {
+        when(itemRepository.findById(1L))
+            .thenReturn(Optional.of(new Item(1L, "Phone", BigDecimal.TEN, 0L)))
+            .thenReturn(Optional.of(new Item(1L, "Phone", BigDecimal.ONE, 0L)));
+        itemCatalog.get(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        itemCatalog.invalidateAfterCommit(1L);
+        assertThat(itemCatalog.get(1L).price()).isEqualTo(BigDecimal.TEN);
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(itemCatalog.get(1L).price()).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void get_shouldNotCacheLoadThatRacedAnInvalidation() {
+        when(itemRepository.findById(1L))
+            .thenAnswer(invocation -> {
+                itemCatalog.invalidate(1L);
+                return Optional.of(new Item(1L, "Phone", BigDecimal.TEN, 0L));
+            })
+            .thenReturn(Optional.of(new Item(1L, "Phone", BigDecimal.ONE, 0L)));
+
+        assertThat(itemCatalog.get(1L).price()).isEqualTo(BigDecimal.TEN);
+        assertThat(itemCatalog.get(1L).price()).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void get_shouldNeverServeRowOlderThanLastCommittedUpdate() throws Exception {
+        AtomicInteger row = new AtomicInteger();
+        AtomicInteger committed = new AtomicInteger();
+        when(itemRepository.findById(1L)).thenAnswer(invocation -> {
+            int version = row.get();
+            Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+            return Optional.of(new Item(1L, "Phone", BigDecimal.valueOf(version), 0L));
+        });
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger staleReads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        int lastCommitted = committed.get();
+                        if (itemCatalog.get(1L).price().intValue() < lastCommitted) {
+                            staleReads.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+
+            executor.submit(() -> {
+                for (int i = 1; i <= 500; i++) {
+                    row.set(i);
+                    itemCatalog.invalidate(1L);
+                    committed.set(i);
+                    Thread.sleep(1);
+                }
+                writing.set(false);
+                return null;
+            }).get();
+
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(staleReads.get()).isZero();
+        assertThat(itemCatalog.get(1L).price()).isEqualTo(BigDecimal.valueOf(500));
+    }
+}
@@ -0,0 +1,137 @@
+package com.innowise.orderservice.core.client;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.client.UserClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserClientTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachedUserClient cachedUserClient;
+
+    private final GetUserDto USER_1 = new GetUserDto(1L, "U1", "S1", null, "u1@mail.com", List.of());
+    private final GetUserDto USER_2 = new GetUserDto(2L, "U2", "S2", null, "u2@mail.com", List.of());
+    private final GetUserDto USER_3 = new GetUserDto(3L, "U3", "S3", null, "u3@mail.com", List.of());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        UserBatchLoader userBatchLoader = new UserBatchLoader(userClient, false, Duration.ofMillis(2), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        cachedUserClient = new CachedUserClient(
+            userClient, userBatchLoader, meterRegistry, Duration.ofMinutes(5), 100);
+    }
+
+    @Test
+    void getUserById_shouldCallRemoteOnlyOnce() {
+        when(userClient.getUserById(1L)).thenReturn(USER_1);
+
+        assertThat(cachedUserClient.getUserById(1L)).isEqualTo(USER_1);
+        assertThat(cachedUserClient.getUserById(1L)).isEqualTo(USER_1);
+
+        verify(userClient, times(1)).getUserById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserByEmail_shouldPopulateIdIndex() {
+        when(userClient.getUserByEmail("u1@mail.com")).thenReturn(USER_1);
+
+        cachedUserClient.getUserByEmail("u1@mail.com");
+
+        assertThat(cachedUserClient.getUserById(1L)).isEqualTo(USER_1);
+        verify(userClient, never()).getUserById(any());
+    }
+
+    @Test
+    void getAllById_shouldFetchOnlyMissingIds() {
+        when(userClient.getUserById(1L)).thenReturn(USER_1);
+        when(userClient.getAllById(List.of(2L, 3L))).thenReturn(List.of(USER_2, USER_3));
+
+        cachedUserClient.getUserById(1L);
+        List<GetUserDto> result = cachedUserClient.getAllById(List.of(1L, 2L, 1L, 3L));
+
+        assertThat(result).containsExactlyInAnyOrder(USER_1, USER_2, USER_3);
+        verify(userClient).getAllById(List.of(2L, 3L));
+    }
+
+    @Test
+    void getAllById_shouldSkipRemoteCall_whenAllCached() {
+        when(userClient.getAllById(List.of(1L, 2L))).thenReturn(List.of(USER_1, USER_2));
+
+        cachedUserClient.getAllById(List.of(1L, 2L));
+        cachedUserClient.getAllById(List.of(2L, 1L));
+
+        verify(userClient, times(1)).getAllById(anyList());
+    }
+
+    @Test
+    void invalidate_shouldEvictBothIndexes() {
+        when(userClient.getUserById(1L)).thenReturn(USER_1);
+        when(userClient.getUserByEmail("u1@mail.com")).thenReturn(USER_1);
+
+        cachedUserClient.getUserById(1L);
+        cachedUserClient.invalidate(1L);
+        cachedUserClient.getUserByEmail("u1@mail.com");
+        cachedUserClient.invalidate(1L);
+        cachedUserClient.getUserById(1L);
+
+        verify(userClient, times(2)).getUserById(1L);
+        verify(userClient, times(1)).getUserByEmail("u1@mail.com");
+    }
+
+    @Test
+    void getUserById_shouldNotServeOneCallersEntryToAnother() {
+        when(userClient.getUserById(1L)).thenReturn(USER_1);
+
+        try {
+            authenticate("owner-token");
+            cachedUserClient.getUserById(1L);
+            cachedUserClient.getUserById(1L);
+
+            authenticate("other-token");
+            cachedUserClient.getUserById(1L);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userClient, times(2)).getUserById(1L);
+    }
+
+    private void authenticate(String token) {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(Jwt.withTokenValue(token)
+            .header("alg", "none")
+            .subject(token)
+            .build()));
+    }
+
+    @Test
+    void getUserByEmail_shouldNotCacheFallbackUser() {
+        GetUserDto fallbackUser = new GetUserDto(-1L, "N/A", "N/A", null, "N/A", List.of());
+        when(userClient.getUserByEmail("u1@mail.com")).thenReturn(fallbackUser);
+
+        cachedUserClient.getUserByEmail("u1@mail.com");
+        cachedUserClient.getUserByEmail("u1@mail.com");
+
+        verify(userClient, times(2)).getUserByEmail("u1@mail.com");
+    }
+}
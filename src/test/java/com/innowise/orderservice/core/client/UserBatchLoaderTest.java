@@ -0,0 +1,212 @@
+package com.innowise.orderservice.core.client;
+
+import com.innowise.orderservice.api.client.GetUserDto;
+import com.innowise.orderservice.api.client.UserClient;
+import feign.FeignException;
+import feign.Request;
+import feign.RequestTemplate;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchLoaderTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private UserBatchLoader userBatchLoader;
+
+    private final GetUserDto USER_1 = new GetUserDto(1L, "U1", "S1", null, "u1@mail.com", List.of());
+    private final GetUserDto USER_2 = new GetUserDto(2L, "U2", "S2", null, "u2@mail.com", List.of());
+
+    @AfterEach
+    void tearDown() {
+        userBatchLoader.shutdown();
+    }
+
+    @Test
+    void load_shouldCoalesceConcurrentLookupsIntoOneBatch() throws Exception {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(200), 100, 2, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getAllById(anyList())).thenReturn(List.of(USER_1, USER_2));
+
+        ExecutorService callers = Executors.newFixedThreadPool(40);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<GetUserDto>> results = IntStream.range(0, 40)
+            .mapToObj(i -> callers.submit(() -> {
+                start.await();
+                return userBatchLoader.getUserById(i % 2 == 0 ? 1L : 2L);
+            }))
+            .toList();
+        start.countDown();
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get().id()).isEqualTo(i % 2 == 0 ? 1L : 2L);
+        }
+        callers.shutdown();
+
+        verify(userClient, times(1)).getAllById(anyList());
+        verify(userClient, never()).getUserById(any());
+    }
+
+    @Test
+    void load_shouldShareFutureForIdenticalInFlightIds() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(50), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getAllById(List.of(1L))).thenReturn(List.of(USER_1));
+
+        CompletableFuture<GetUserDto> first = userBatchLoader.load(1L);
+        CompletableFuture<GetUserDto> second = userBatchLoader.load(1L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.join()).isEqualTo(USER_1);
+    }
+
+    @Test
+    void load_shouldShareFutureWhileBatchIsOnTheWire() throws Exception {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(1), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        CountDownLatch dispatched = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClient.getAllById(List.of(1L))).thenAnswer(invocation -> {
+            dispatched.countDown();
+            release.await();
+            return List.of(USER_1);
+        });
+
+        CompletableFuture<GetUserDto> first = userBatchLoader.load(1L);
+        dispatched.await();
+        CompletableFuture<GetUserDto> second = userBatchLoader.load(1L);
+        release.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.join()).isEqualTo(USER_1);
+        verify(userClient, times(1)).getAllById(anyList());
+    }
+
+    @Test
+    void load_shouldBatchPerBearerToken() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(50), 100, 2, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getAllById(anyList())).thenReturn(List.of(USER_1, USER_2));
+
+        CompletableFuture<GetUserDto> firstCaller = loadAs("token-a", 1L);
+        CompletableFuture<GetUserDto> sameToken = loadAs("token-a", 2L);
+        CompletableFuture<GetUserDto> otherToken = loadAs("token-b", 1L);
+
+        assertThat(otherToken).isNotSameAs(firstCaller);
+        assertThat(firstCaller.join()).isEqualTo(USER_1);
+        assertThat(sameToken.join()).isEqualTo(USER_2);
+        assertThat(otherToken.join()).isEqualTo(USER_1);
+        verify(userClient).getAllById(List.of(1L, 2L));
+        verify(userClient).getAllById(List.of(1L));
+    }
+
+    @Test
+    void load_shouldFailBatch_whenDispatchQueueIsFull() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMinutes(1), 1, 1, 1, Duration.ofSeconds(5), new StandardEnvironment());
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClient.getAllById(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(USER_1, USER_2);
+        });
+
+        CompletableFuture<GetUserDto> running = userBatchLoader.load(1L);
+        CompletableFuture<GetUserDto> queued = userBatchLoader.load(2L);
+        CompletableFuture<GetUserDto> rejected = userBatchLoader.load(3L);
+
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+        assertThat(running.join()).isEqualTo(USER_1);
+        assertThat(queued.join()).isEqualTo(USER_2);
+    }
+
+    @Test
+    void load_shouldTimeOut_whenBatchStalls() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(1), 100, 1, 64, Duration.ofMillis(50), new StandardEnvironment());
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClient.getAllById(List.of(1L))).thenAnswer(invocation -> {
+            release.await();
+            return List.of(USER_1);
+        });
+
+        CompletableFuture<GetUserDto> stalled = userBatchLoader.load(1L);
+
+        assertThatThrownBy(stalled::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(userBatchLoader.load(1L)).isNotSameAs(stalled);
+        release.countDown();
+    }
+
+    @Test
+    void load_shouldFlushImmediately_whenBatchIsFull() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMinutes(1), 2, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getAllById(List.of(1L, 2L))).thenReturn(List.of(USER_1, USER_2));
+
+        CompletableFuture<GetUserDto> first = userBatchLoader.load(1L);
+        CompletableFuture<GetUserDto> second = userBatchLoader.load(2L);
+
+        assertThat(first.join()).isEqualTo(USER_1);
+        assertThat(second.join()).isEqualTo(USER_2);
+    }
+
+    @Test
+    void getUserById_shouldThrowNotFound_whenIdMissingFromBatch() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(1), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getAllById(List.of(3L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> userBatchLoader.getUserById(3L))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("User not found: 3");
+    }
+
+    @Test
+    void getUserById_shouldRethrowRemoteFailure() {
+        userBatchLoader = new UserBatchLoader(userClient, true, Duration.ofMillis(1), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        Request request = Request.create(Request.HttpMethod.POST, "url", Map.of(), null, new RequestTemplate());
+        when(userClient.getAllById(List.of(1L)))
+            .thenThrow(new FeignException.Forbidden("Forbidden", request, null, null));
+
+        assertThatThrownBy(() -> userBatchLoader.getUserById(1L))
+            .isInstanceOf(FeignException.Forbidden.class);
+    }
+
+    private CompletableFuture<GetUserDto> loadAs(String token, Long id) {
+        Jwt jwt = Jwt.withTokenValue(token).header("alg", "none").subject("caller").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        try {
+            return userBatchLoader.load(id);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void getUserById_shouldCallRemoteDirectly_whenDisabled() {
+        userBatchLoader = new UserBatchLoader(userClient, false, Duration.ofMillis(1), 100, 1, 64, Duration.ofSeconds(5), new StandardEnvironment());
+        when(userClient.getUserById(1L)).thenReturn(USER_1);
+
+        assertThat(userBatchLoader.getUserById(1L)).isEqualTo(USER_1);
+        verify(userClient, never()).getAllById(anyList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.innowise.orderservice.core.metrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTransitionMetricsTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void bindTo_shouldCountTransitionsOfExistingBreakers() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("userService");
+        new CircuitBreakerTransitionMetrics(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        circuitBreaker.transitionToOpenState();
+
+        assertThat(transitions("userService", "CLOSED", "OPEN")).isEqualTo(1);
+        assertThat(transitions("userService", "OPEN", "HALF_OPEN")).isEqualTo(1);
+        assertThat(transitions("userService", "HALF_OPEN", "OPEN")).isEqualTo(1);
+    }
+
+    @Test
+    void bindTo_shouldCountTransitionsOfBreakersCreatedLater() {
+        new CircuitBreakerTransitionMetrics(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        circuitBreakerRegistry.circuitBreaker("userService").transitionToOpenState();
+
+        assertThat(transitions("userService", "CLOSED", "OPEN")).isEqualTo(1);
+    }
+
+    private double transitions(String name, String from, String to) {
+        return meterRegistry.get(CircuitBreakerTransitionMetrics.METRIC_NAME)
+            .tag("name", name)
+            .tag("from", from)
+            .tag("to", to)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,152 @@
+package com.innowise.orderservice.core.outbox;
+
+import com.innowise.orderservice.api.dto.event.OrderEventDto;
+import com.innowise.orderservice.core.dao.OrderEventRepository;
+import com.innowise.orderservice.core.entity.OrderEvent;
+import com.innowise.orderservice.core.entity.OrderEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class OrderOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private OrderEventRepository orderEventRepository;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<OrderEventDto>> publishedBatches;
+    private RuntimeException publishFailure;
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository = mock(OrderEventRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        publishedBatches = new ArrayList<>();
+        publishFailure = null;
+
+        OrderEventPublisher publisher = events -> {
+            if (publishFailure != null) throw publishFailure;
+            publishedBatches.add(events);
+        };
+        relay = new OrderOutboxRelay(orderEventRepository, publisher, new TransactionTemplate(transactionManager),
+            mock(TaskScheduler.class), meterRegistry, Duration.ofMillis(500), BATCH_SIZE, MAX_ATTEMPTS,
+            Duration.ofSeconds(1));
+    }
+
+    private OrderEvent event(long id, long orderId) {
+        OrderEvent event = new OrderEvent();
+        event.setId(id);
+        event.setOrderId(orderId);
+        event.setEventType(OrderEventType.ORDER_CREATED);
+        event.setPayload("{\"orderId\":" + orderId + "}");
+        event.setCreatedAt(Instant.now().minusSeconds(1));
+        event.setAttempts(0);
+        return event;
+    }
+
+    private OrderEvent retriedEvent(long id, long orderId, int attempts) {
+        OrderEvent event = event(id, orderId);
+        event.setAttempts(attempts);
+        return event;
+    }
+
+    @Test
+    void relayBatch_shouldPublishInOrderAndDeletePublishedEvents() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1L, 10L), event(2L, 11L)));
+
+        assertThat(relay.relayBatch()).isTrue();
+
+        assertThat(publishedBatches).hasSize(1);
+        assertThat(publishedBatches.get(0)).extracting(OrderEventDto::id).containsExactly(1L, 2L);
+        verify(orderEventRepository).deleteByIdIn(new Long[] {1L, 2L});
+        verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("orders.outbox.published").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("orders.outbox.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void relayBatch_shouldKeepEventsAndHoldThemBack_whenPublisherFails() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1L, 10L), event(2L, 11L)));
+        publishFailure = new IllegalStateException("sink unavailable");
+
+        assertThatThrownBy(() -> relay.relayBatch()).isSameAs(publishFailure);
+
+        verify(orderEventRepository, never()).deleteByIdIn(any());
+        verify(transactionManager).rollback(any());
+        verify(orderEventRepository).scheduleRetry(new Long[] {1L, 2L}, 0.5);
+        assertThat(meterRegistry.get("orders.outbox.published").counter().count()).isZero();
+    }
+
+    @Test
+    void relayBatch_shouldRetryFailedEventAloneWithBackoff() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1L, 10L), retriedEvent(2L, 11L, 1)));
+        publishFailure = new IllegalStateException("rejected");
+
+        assertThatThrownBy(() -> relay.relayBatch()).isSameAs(publishFailure);
+
+        verify(orderEventRepository).scheduleRetry(new Long[] {2L}, 1.0);
+
+        publishFailure = null;
+        assertThat(relay.relayBatch()).isTrue();
+
+        assertThat(publishedBatches.get(0)).extracting(OrderEventDto::id).containsExactly(2L);
+        verify(orderEventRepository).deleteByIdIn(new Long[] {2L});
+    }
+
+    @Test
+    void relayBatch_shouldDeadLetterEvent_whenAttemptsRunOut() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(retriedEvent(1L, 10L, MAX_ATTEMPTS - 1)));
+        publishFailure = new IllegalStateException("rejected");
+
+        assertThatThrownBy(() -> relay.relayBatch()).isSameAs(publishFailure);
+
+        verify(orderEventRepository).deadLetter(1L);
+        verify(orderEventRepository, never()).scheduleRetry(any(), anyDouble());
+        assertThat(meterRegistry.get("orders.outbox.dead.lettered").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void drain_shouldCountFailureAndStillTrackOldestEvent() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(1L, 10L)));
+        when(orderEventRepository.findCreatedAtOldestFirst(any())).thenReturn(List.of(Instant.now().minusSeconds(60)));
+        publishFailure = new IllegalStateException("sink unavailable");
+
+        relay.drain();
+
+        assertThat(meterRegistry.get("orders.outbox.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.outbox.oldest.age").gauge().value()).isGreaterThanOrEqualTo(60_000);
+    }
+
+    @Test
+    void drain_shouldRelayFullBatchesBackToBack() {
+        when(orderEventRepository.lockNextBatch(BATCH_SIZE))
+            .thenReturn(List.of(event(1L, 10L), event(2L, 11L)))
+            .thenReturn(List.of(event(3L, 12L)));
+        when(orderEventRepository.findCreatedAtOldestFirst(any())).thenReturn(List.of());
+
+        relay.drain();
+
+        assertThat(publishedBatches).hasSize(2);
+        verify(orderEventRepository, times(2)).lockNextBatch(anyInt());
+        assertThat(meterRegistry.get("orders.outbox.oldest.age").gauge().value()).isZero();
+    }
+}
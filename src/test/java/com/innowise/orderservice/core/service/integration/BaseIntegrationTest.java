@@ -17,7 +17,9 @@ import org.testcontainers.utility.DockerImageName;
 @AutoConfigureWireMock(port = 0)
 @TestPropertySource(properties = {
     "user.service.url=http://localhost:${wiremock.server.port}",
-    "spring.cloud.discovery.enabled=false"
+    "spring.cloud.discovery.enabled=false",
+    // a polling relay would race assertions on order_events and statement counts
+    "order.outbox.relay.enabled=false"
 })
 public abstract class BaseIntegrationTest {
 
@@ -0,0 +1,131 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.innowise.orderservice.OrderserviceApplication;
+import com.innowise.orderservice.api.dto.item.CreateItemDto;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.service.ItemService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a second application context (another "node") against the same
+ * database and checks that item updates made through this context evict the
+ * other node's cached copy.
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = "item.invalidation.reconnect-delay=2s")
+class ItemInvalidationIntegrationTest extends BaseIntegrationTest {
+
+    private static final String LISTENER_APPLICATION_NAME = "order-service-item-invalidation";
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired private ItemService itemService;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private ItemService otherNodeItemService;
+
+    @BeforeEach
+    void startOtherNode() {
+        if (otherNode == null) {
+            otherNode = new SpringApplicationBuilder(OrderserviceApplication.class)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.liquibase.enabled=false",
+                    "spring.cloud.discovery.enabled=false",
+                    "user.service.url=http://localhost:1",
+                    "item.invalidation.reconnect-delay=2s")
+                .run();
+        }
+        otherNodeItemService = otherNode.getBean(ItemService.class);
+
+        awaitTrue(Duration.ofSeconds(10), () -> listenerConnections() >= 2);
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+            otherNode = null;
+        }
+    }
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateItem_EvictsOtherNodeCache() {
+        Long id = itemRepository.save(new Item(null, "Mouse", new BigDecimal("50.00"), null)).getId();
+        assertEquals(0, new BigDecimal("50.00").compareTo(otherNodeItemService.getItemById(id).price()));
+
+        itemService.updateItem(id, new CreateItemDto("Mouse", new BigDecimal("75.00")), null);
+
+        awaitTrue(Duration.ofSeconds(1),
+            () -> new BigDecimal("75.00").compareTo(otherNodeItemService.getItemById(id).price()) == 0);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateItem_WhileOtherNodeDisconnected_AppliedOnReconnect() {
+        Long id = itemRepository.save(new Item(null, "Mouse", new BigDecimal("50.00"), null)).getId();
+        assertEquals(0, new BigDecimal("50.00").compareTo(otherNodeItemService.getItemById(id).price()));
+
+        jdbcTemplate.queryForList(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+            Boolean.class, LISTENER_APPLICATION_NAME);
+        itemService.updateItem(id, new CreateItemDto("Mouse", new BigDecimal("75.00")), null);
+
+        // the NOTIFY went out while nobody was listening, only the journal replay can evict it
+        awaitTrue(Duration.ofSeconds(10),
+            () -> new BigDecimal("75.00").compareTo(otherNodeItemService.getItemById(id).price()) == 0);
+    }
+
+    private int listenerConnections() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_stat_activity WHERE application_name = ?",
+            Integer.class, LISTENER_APPLICATION_NAME);
+    }
+
+    private static void awaitTrue(Duration timeout, BooleanSupplier condition) {
+        Instant deadline = Instant.now().plus(timeout);
+        while (!condition.getAsBoolean()) {
+            if (Instant.now().isAfter(deadline)) {
+                fail("Condition not met within " + timeout);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting");
+            }
+        }
+    }
+}
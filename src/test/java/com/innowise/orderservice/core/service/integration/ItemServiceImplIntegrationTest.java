@@ -2,21 +2,33 @@ package com.innowise.orderservice.core.service.integration;
 
 import com.innowise.orderservice.api.dto.item.CreateItemDto;
 import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.core.cache.ItemCatalog;
 import com.innowise.orderservice.core.dao.ItemRepository;
 import com.innowise.orderservice.core.dao.OrderRepository;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +38,10 @@ class ItemServiceImplIntegrationTest extends BaseIntegrationTest {
     @Autowired private ItemService itemService;
     @Autowired private OrderRepository orderRepository;
     @Autowired private ItemRepository itemRepository;
+    @Autowired private ItemCatalog itemCatalog;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter sqlStatements;
 
     @BeforeEach
     @AfterEach
@@ -34,6 +50,12 @@ class ItemServiceImplIntegrationTest extends BaseIntegrationTest {
         itemRepository.deleteAll();
     }
 
+    @BeforeEach
+    void setUpStatementCounter() {
+        sqlStatements = new SqlStatementCounter(entityManagerFactory);
+        itemCatalog.invalidateAll();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void test_createItem_Success_Admin() {
@@ -59,12 +81,112 @@ class ItemServiceImplIntegrationTest extends BaseIntegrationTest {
     @Test
     @WithMockUser(roles = "USER")
     void test_getAllItems_Success() {
-        itemRepository.save(new Item(null, "A", BigDecimal.TEN));
-        itemRepository.save(new Item(null, "B", BigDecimal.TEN));
+        itemRepository.save(new Item(null, "A", BigDecimal.TEN, null));
+        itemRepository.save(new Item(null, "B", BigDecimal.TEN, null));
 
         Page<GetItemDto> page = itemService.getAllItems(PageRequest.of(0, 10));
 
         assertEquals(2, page.getTotalElements());
         assertEquals(2, page.getContent().size());
     }
-}
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateItem_RejectsStaleVersion() {
+        Long id = itemRepository.save(new Item(null, "Phone", BigDecimal.TEN, null)).getId();
+
+        GetItemDto updated = itemService.updateItem(id, new CreateItemDto("Phone", BigDecimal.ONE), 0L);
+        assertEquals(1L, updated.version());
+        assertEquals(1L, itemService.getItemById(id).version());
+
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> itemService.updateItem(id, new CreateItemDto("Phone", BigDecimal.ZERO), 0L));
+        assertEquals(0, BigDecimal.ONE.compareTo(itemService.getItemById(id).price()));
+    }
+
+    @Test
+    void test_itemCache_ServesLatestPrice_AfterConcurrentUpdates() throws Exception {
+        Long id = itemRepository.save(new Item(null, "Phone", BigDecimal.ZERO, null)).getId();
+        Authentication admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        itemService.getItemById(id);
+                    }
+                }));
+            }
+
+            executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(admin);
+                try {
+                    for (int i = 1; i <= 50; i++) {
+                        itemService.updateItem(id, new CreateItemDto("Phone", BigDecimal.valueOf(i)), null);
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    writing.set(false);
+                }
+            }).get();
+
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, new BigDecimal("50").compareTo(itemService.getItemById(id).price()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_createItem_StaysWithinQueryBudget() {
+        // insert, sequence fetch
+        sqlStatements.assertAtMost(2, () -> itemService.createItem(new CreateItemDto("Mouse", BigDecimal.TEN)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getItemById_StaysWithinQueryBudget() {
+        Long id = itemRepository.save(new Item(null, "Mouse", BigDecimal.TEN, null)).getId();
+
+        sqlStatements.assertAtMost(1, () -> itemService.getItemById(id));
+        sqlStatements.assertAtMost(0, () -> itemService.getItemById(id));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getAllItems_StaysWithinQueryBudget() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(new Item(null, "Item " + i, BigDecimal.TEN, null));
+        }
+        itemRepository.saveAll(items);
+
+        // page, count
+        sqlStatements.assertAtMost(2, () -> itemService.getAllItems(PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateItem_StaysWithinQueryBudget() {
+        Long id = itemRepository.save(new Item(null, "Mouse", BigDecimal.TEN, null)).getId();
+
+        // select, update
+        sqlStatements.assertAtMost(2, () -> itemService.updateItem(id, new CreateItemDto("Mouse", BigDecimal.ONE), 0L));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_deleteItem_StaysWithinQueryBudget() {
+        Long id = itemRepository.save(new Item(null, "Mouse", BigDecimal.TEN, null)).getId();
+
+        // select, delete
+        sqlStatements.assertAtMost(2, () -> itemService.deleteItem(id));
+    }
+}
\ No newline at end of file
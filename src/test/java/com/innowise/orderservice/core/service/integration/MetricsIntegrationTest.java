@@ -0,0 +1,119 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates and reads an order over HTTP and checks the Prometheus scrape
+ * carries every metric family operators tune with, and that only monitoring
+ * tokens may scrape it.
+ */
+@AutoConfigureObservability
+class MetricsIntegrationTest extends BaseIntegrationTest {
+
+    private static final String TOKEN = "metrics-token";
+    private static final String MONITORING_TOKEN = "monitoring-token";
+
+    @LocalServerPort private int port;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ItemRepository itemRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode(TOKEN)).thenReturn(Jwt.withTokenValue(TOKEN)
+            .header("alg", "none")
+            .subject("metrics")
+            .claim("scope", "ROLE_USER")
+            .build());
+        when(jwtDecoder.decode(MONITORING_TOKEN)).thenReturn(Jwt.withTokenValue(MONITORING_TOKEN)
+            .header("alg", "none")
+            .subject("prometheus")
+            .claim("scope", "ROLE_MONITORING")
+            .build());
+
+        stubFor(get(urlPathEqualTo("/api/users/email"))
+            .willReturn(okJson("""
+                {"id": 7, "name": "Test", "surname": "User", "email": "metrics@mail.com", "cards": []}
+                """)));
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void prometheus_shouldExposeServiceClientPoolAndQueryMetrics() throws Exception {
+        Long itemId = itemRepository.save(new Item(null, "Phone", new BigDecimal("10.00"), null)).getId();
+
+        HttpResponse<String> created = httpClient.send(request("/api/orders")
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                    {"userEmail": "metrics@mail.com", "items": [{"itemId": %d, "quantity": 3}]}
+                    """.formatted(itemId)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(201);
+
+        String scrape = httpClient.send(request("/actuator/prometheus", MONITORING_TOKEN).GET().build(),
+            HttpResponse.BodyHandlers.ofString()).body();
+
+        assertThat(scrape)
+            .contains("order_service_seconds_bucket{", "method=\"createOrder\"")
+            .contains("http_client_requests_seconds_bucket{", "http_url=\"/email?email={email}\"")
+            .contains("resilience4j_circuitbreaker_state{")
+            .contains("hikaricp_connections_acquire_seconds_bucket{")
+            .contains("hikaricp_connections_usage_seconds_bucket{")
+            .contains("hibernate_request_statements_bucket{", "endpoint=\"POST /api/orders\"")
+            .contains("hibernate_request_entity_loads_bucket{")
+            .contains("orders_basket_size_items_bucket{")
+            .contains("orders_basket_units_bucket{");
+    }
+
+    @Test
+    void metricEndpoints_shouldRequireMonitoringRole() throws Exception {
+        for (String path : List.of("/actuator/prometheus", "/actuator/metrics")) {
+            HttpRequest anonymous = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+            assertThat(httpClient.send(anonymous, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(401);
+            assertThat(httpClient.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode())
+                .isEqualTo(403);
+            assertThat(httpClient.send(request(path, MONITORING_TOKEN).GET().build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode()).isEqualTo(200);
+        }
+
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).GET().build();
+        assertThat(httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return request(path, TOKEN);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,362 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderItem;
+import com.innowise.orderservice.core.entity.Status;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.WireMockConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end load harness: the full application over HTTP, Postgres from
+ * Testcontainers and WireMock standing in for user-service. Each scenario
+ * runs on its own so SQL statements can be attributed to it; a final mixed
+ * run interleaves them. Results are printed and written to
+ * {@code target/load-report.csv}.
+ *
+ * <p>Off by default. Run with, for example:
+ * <pre>
+ * ./mvnw test -Dtest=MixedWorkloadLoadTest -Dload.harness=true \
+ *     -Dload.user-service.delay-ms=50 -Dload.user-service.error-rate=0.01
+ * </pre>
+ * Users are cached, so injected errors mostly hit the first lookups; add
+ * {@code -Duser.cache.ttl=0s} to send every lookup to user-service.
+ */
+@EnabledIfSystemProperty(named = "load.harness", matches = "true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@Import(MixedWorkloadLoadTest.UserServiceFaults.class)
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class MixedWorkloadLoadTest extends BaseIntegrationTest {
+
+    private static final String TOKEN = "load-harness-token";
+    private static final int USERS = 20;
+    private static final int ITEMS = 50;
+    private static final List<Status> LISTED_STATUSES = List.of(Status.CREATED, Status.PROCESSED);
+
+    @TestConfiguration
+    static class UserServiceFaults {
+
+        @Bean
+        WireMockConfigurationCustomizer userServiceFaults(
+            @Value("${load.user-service.error-rate:0}") double errorRate,
+            @Value("${load.concurrency:16}") int concurrency) {
+
+            return options -> options
+                .extensions(new RandomServerErrors(errorRate))
+                .containerThreads(concurrency + 50);
+        }
+    }
+
+    /** Answers a share of user-service calls with 503 instead of the stub. */
+    static class RandomServerErrors extends ResponseDefinitionTransformer {
+
+        private final double errorRate;
+
+        RandomServerErrors(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        @Override
+        public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                            FileSource files, Parameters parameters) {
+            return ThreadLocalRandom.current().nextDouble() < errorRate
+                ? new ResponseDefinition(503, "user-service unavailable")
+                : responseDefinition;
+        }
+
+        @Override
+        public String getName() {
+            return "random-server-errors";
+        }
+    }
+
+    @Value("${load.user-service.delay-ms:20}") private int userServiceDelayMs;
+    @Value("${load.user-service.error-rate:0}") private double userServiceErrorRate;
+    @Value("${load.concurrency:16}") private int concurrency;
+    @Value("${load.requests:400}") private int requestsPerScenario;
+    @Value("${load.orders:2000}") private int seededOrders;
+
+    @LocalServerPort private int port;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private List<Long> itemIds;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtDecoder.decode(anyString())).thenReturn(Jwt.withTokenValue(TOKEN)
+            .header("alg", "none")
+            .subject("load-harness")
+            .claim("scope", "ROLE_USER")
+            .build());
+
+        stubFor(get(urlPathEqualTo("/api/users/email"))
+            .willReturn(okJson(user(1)).withFixedDelay(userServiceDelayMs)));
+        stubFor(get(urlPathMatching("/api/users/\\d+"))
+            .willReturn(okJson(user(1)).withFixedDelay(userServiceDelayMs)));
+        stubFor(post(urlPathEqualTo("/api/users/batch/id"))
+            .willReturn(okJson(IntStream.rangeClosed(1, USERS)
+                    .mapToObj(MixedWorkloadLoadTest::user)
+                    .collect(Collectors.joining(",", "[", "]")))
+                .withFixedDelay(userServiceDelayMs)));
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Item(null, "Item " + i, BigDecimal.valueOf(i), null));
+        }
+        itemIds = itemRepository.saveAll(items).stream().map(Item::getId).toList();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < seededOrders; i++) {
+            Order order = new Order();
+            order.setUserId((long) random.nextInt(1, USERS + 1));
+            order.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            random.ints(0, items.size()).distinct().limit(random.nextInt(1, 6)).forEach(itemIndex -> {
+                OrderItem orderItem = new OrderItem();
+                orderItem.setItem(items.get(itemIndex));
+                orderItem.setQuantity(random.nextInt(1, 4));
+                orderItem.setOrder(order);
+                order.getOrderItems().add(orderItem);
+            });
+            orders.add(order);
+        }
+        orderIds = orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void runScenarios() throws Exception {
+        Map<String, Supplier<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("create-order burst", this::createOrder);
+        scenarios.put("paged listing", this::pagedListing);
+        scenarios.put("keyset listing", this::keysetListing);
+        scenarios.put("by-status", this::byStatus);
+        scenarios.put("status update", this::statusUpdate);
+        scenarios.put("mixed", this::mixed);
+
+        warmUp(scenarios.get("mixed"));
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Map.Entry<String, Supplier<HttpRequest>> scenario : scenarios.entrySet()) {
+            results.add(run(scenario.getKey(), scenario.getValue()));
+        }
+
+        report(results);
+
+        if (userServiceErrorRate == 0) {
+            for (ScenarioResult result : results) {
+                assertEquals(0, result.failed(), result.name() + " had failed requests");
+            }
+        }
+    }
+
+    private HttpRequest createOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String items = random.ints(0, itemIds.size()).distinct().limit(random.nextInt(1, 6))
+            .mapToObj(i -> "{\"itemId\":%d,\"quantity\":%d}".formatted(itemIds.get(i), random.nextInt(1, 4)))
+            .collect(Collectors.joining(","));
+
+        return request("/api/orders")
+            .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"userEmail\":\"load@mail.com\",\"items\":[" + items + "]}"))
+            .build();
+    }
+
+    private HttpRequest pagedListing() {
+        return request("/api/orders?page=%d&size=20".formatted(ThreadLocalRandom.current().nextInt(10)))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest keysetListing() {
+        return request("/api/orders?cursor=&size=20").GET().build();
+    }
+
+    private HttpRequest byStatus() {
+        String statuses = LISTED_STATUSES.stream().map(Status::name).collect(Collectors.joining(","));
+
+        return request("/api/orders/by-status?statuses=%s&page=%d&size=20".formatted(
+                statuses, ThreadLocalRandom.current().nextInt(10)))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest statusUpdate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long orderId = orderIds.get(random.nextInt(orderIds.size()));
+        Status status = Status.values()[random.nextInt(Status.values().length)];
+
+        return request("/api/orders/%d?status=%s".formatted(orderId, status))
+            .PUT(HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    private HttpRequest mixed() {
+        int pick = ThreadLocalRandom.current().nextInt(100);
+        if (pick < 20) return createOrder();
+        if (pick < 45) return pagedListing();
+        if (pick < 60) return keysetListing();
+        if (pick < 80) return byStatus();
+        return statusUpdate();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Authorization", "Bearer " + TOKEN);
+    }
+
+    private void warmUp(Supplier<HttpRequest> requests) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            httpClient.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private ScenarioResult run(String name, Supplier<HttpRequest> requests) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        try {
+            long start = System.nanoTime();
+            List<Future<long[]>> calls = new ArrayList<>();
+            for (int i = 0; i < requestsPerScenario; i++) {
+                HttpRequest request = requests.get();
+                calls.add(callers.submit(() -> {
+                    long sent = System.nanoTime();
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    return new long[] {System.nanoTime() - sent, status};
+                }));
+            }
+
+            long[] latencies = new long[calls.size()];
+            int conflicts = 0;
+            int failed = 0;
+            for (int i = 0; i < calls.size(); i++) {
+                long[] call = calls.get(i).get();
+                latencies[i] = call[0];
+                // concurrent writers racing on one order, expected under load
+                if (call[1] == 409 || call[1] == 412) {
+                    conflicts++;
+                } else if (call[1] >= 400) {
+                    failed++;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new ScenarioResult(
+                name,
+                calls.size() - conflicts - failed,
+                conflicts,
+                failed,
+                calls.size() / seconds,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999),
+                (double) statistics.getPrepareStatementCount() / calls.size()
+            );
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private void report(List<ScenarioResult> results) throws IOException {
+        String header = "scenario,ok,conflicts,failed,req_per_s,p50_ms,p99_ms,p999_ms,sql_per_req";
+        List<String> lines = new ArrayList<>();
+        lines.add(header);
+        results.forEach(result -> lines.add(result.toCsv()));
+        Files.write(Path.of("target", "load-report.csv"), lines);
+
+        System.out.printf("%nuser-service delay %d ms, error rate %.3f, concurrency %d, %d requests per scenario%n",
+            userServiceDelayMs, userServiceErrorRate, concurrency, requestsPerScenario);
+        System.out.printf("%-20s %6s %9s %6s %9s %9s %9s %9s %8s%n",
+            "scenario", "ok", "conflicts", "failed", "req/s", "p50 ms", "p99 ms", "p999 ms", "sql/req");
+        for (ScenarioResult result : results) {
+            System.out.printf("%-20s %6d %9d %6d %9.1f %9.1f %9.1f %9.1f %8.2f%n",
+                result.name(), result.succeeded(), result.conflicts(), result.failed(), result.throughput(),
+                result.p50(), result.p99(), result.p999(), result.statementsPerRequest());
+        }
+    }
+
+    private static String user(long id) {
+        return """
+            {"id": %d, "name": "Load", "surname": "User", "email": "load@mail.com", "cards": []}
+            """.formatted(id).strip();
+    }
+
+    private record ScenarioResult(String name, int succeeded, int conflicts, int failed, double throughput,
+                                  double p50, double p99, double p999, double statementsPerRequest) {
+
+        String toCsv() {
+            return "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f".formatted(
+                name, succeeded, conflicts, failed, throughput, p50, p99, p999, statementsPerRequest);
+        }
+    }
+}
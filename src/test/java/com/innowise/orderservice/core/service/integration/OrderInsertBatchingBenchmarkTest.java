@@ -0,0 +1,109 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.orderitem.CreateOrderItemDto;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Persists 100-line orders and reports statements and latency per order
+ * with pooled sequences and JDBC batching, the shipped configuration.
+ * {@link OrderInsertUnbatchedBenchmarkTest} runs the same workload with
+ * both turned off, so the two log lines compare before and after.
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderInsertBatchingBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderInsertBatchingBenchmarkTest.class);
+
+    static final int LINES_PER_ORDER = 100;
+    private static final int WARMUP_ORDERS = 10;
+    private static final int MEASURED_ORDERS = 50;
+    private static final String USER_EMAIL = "bench@mail.com";
+
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private List<CreateOrderItemDto> lines;
+
+    @BeforeEach
+    void setUp() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            items.add(new Item(null, "Item " + i, BigDecimal.TEN, null));
+        }
+        lines = itemRepository.saveAll(items).stream()
+            .map(item -> new CreateOrderItemDto(item.getId(), 1))
+            .toList();
+
+        stubFor(WireMock.get(urlPathEqualTo("/api/users/email"))
+            .withQueryParam("email", equalTo(USER_EMAIL))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    {"id": 1, "name": "Bench", "surname": "User", "email": "%s", "cards": []}
+                    """.formatted(USER_EMAIL))));
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void createOrder_100Lines() {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, lines);
+        IntStream.range(0, WARMUP_ORDERS).forEach(i -> orderService.createOrder(createOrderDto));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        IntStream.range(0, MEASURED_ORDERS).forEach(i -> orderService.createOrder(createOrderDto));
+        long elapsedNanos = System.nanoTime() - start;
+
+        double statementsPerOrder = (double) statistics.getPrepareStatementCount() / MEASURED_ORDERS;
+        double millisPerOrder = elapsedNanos / 1_000_000.0 / MEASURED_ORDERS;
+
+        logger.info("{}: createOrder with {} lines: {} statements/order, {} ms/order, {} entity inserts",
+            getClass().getSimpleName(), LINES_PER_ORDER, statementsPerOrder, String.format("%.2f", millisPerOrder),
+            statistics.getEntityInsertCount());
+
+        assertEquals((long) MEASURED_ORDERS * (LINES_PER_ORDER + 1), statistics.getEntityInsertCount());
+        assertStatementsPerOrder(statementsPerOrder);
+    }
+
+    void assertStatementsPerOrder(double statementsPerOrder) {
+        assertTrue(statementsPerOrder <= 10, "Expected batched inserts, got " + statementsPerOrder);
+    }
+}
@@ -0,0 +1,24 @@
+package com.innowise.orderservice.core.service.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The "before" side of {@link OrderInsertBatchingBenchmarkTest}: JDBC
+ * batching is off and the pooled optimizer is replaced by one
+ * {@code nextval} per entity, so every order and line costs an id fetch
+ * and its own INSERT, as it did with IDENTITY ids.
+ */
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.jdbc.batch_size=0",
+    "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=none"
+})
+class OrderInsertUnbatchedBenchmarkTest extends OrderInsertBatchingBenchmarkTest {
+
+    @Override
+    void assertStatementsPerOrder(double statementsPerOrder) {
+        assertTrue(statementsPerOrder > LINES_PER_ORDER,
+            "Expected one statement per line without batching, got " + statementsPerOrder);
+    }
+}
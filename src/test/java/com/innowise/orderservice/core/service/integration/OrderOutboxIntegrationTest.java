@@ -0,0 +1,197 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
+import com.innowise.orderservice.api.dto.order.orderitem.CreateOrderItemDto;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderEventRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderEvent;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OrderOutboxIntegrationTest extends BaseIntegrationTest {
+
+    private static final Long USER_ID = 101L;
+    private static final String USER_EMAIL = "ivan@mail.com";
+
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderEventRepository orderEventRepository;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    private record EventRow(Long orderId, String type, JsonNode payload) {}
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        jdbcTemplate.execute("TRUNCATE order_events");
+    }
+
+    private void stubUserService() {
+        stubFor(WireMock.get(urlPathEqualTo("/api/users/email"))
+            .withQueryParam("email", equalTo(USER_EMAIL))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    {"id": %d, "name": "Ivan", "surname": "Ivanov", "email": "%s", "cards": []}
+                    """.formatted(USER_ID, USER_EMAIL))));
+        stubFor(WireMock.post(urlPathEqualTo("/api/users/batch/id"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody("""
+                    [{"id": %d, "name": "Ivan", "surname": "Ivanov", "email": "%s", "cards": []}]
+                    """.formatted(USER_ID, USER_EMAIL))));
+    }
+
+    private Long createOrder() {
+        Item item = itemRepository.save(new Item(null, "Phone", BigDecimal.TEN, null));
+        GetOrderDto order = orderService.createOrder(
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(item.getId(), 2))));
+        return order.getOrderDtoWithoutUser().id();
+    }
+
+    private Order saveOrder(Status status) {
+        Order order = new Order();
+        order.setUserId(USER_ID);
+        order.setStatus(status);
+        return orderRepository.save(order);
+    }
+
+    private List<EventRow> events() {
+        return jdbcTemplate.query("SELECT order_id, event_type, payload FROM order_events ORDER BY id",
+            (rs, rowNum) -> {
+                try {
+                    return new EventRow(rs.getLong(1), rs.getString(2), objectMapper.readTree(rs.getString(3)));
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+    }
+
+    private void insertEvent(Long orderId) {
+        jdbcTemplate.update("INSERT INTO order_events (order_id, event_type, payload) VALUES (?, 'ORDER_CREATED', '{}')",
+            orderId);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_orderLifecycle_WritesEventsInOrder() {
+        stubUserService();
+
+        Long id = createOrder();
+        orderService.updateOrderStatus(id, Status.PROCESSED, null);
+        orderService.deleteOrder(id);
+
+        List<EventRow> events = events();
+        assertEquals(List.of("ORDER_CREATED", "ORDER_STATUS_CHANGED", "ORDER_DELETED"),
+            events.stream().map(EventRow::type).toList());
+        assertTrue(events.stream().allMatch(event -> event.orderId().equals(id)));
+
+        assertEquals(USER_ID, events.get(0).payload().get("userId").asLong());
+        assertEquals(1, events.get(0).payload().get("order").get("orderItems").size());
+        assertEquals("PROCESSED", events.get(1).payload().get("status").asText());
+        assertEquals("CREATED", events.get(1).payload().get("previousStatus").asText());
+        assertEquals(USER_ID, events.get(2).payload().get("userId").asLong());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_updateOrderStatus_WritesNoEvent_WhenStatusIsUnchanged() {
+        stubUserService();
+        Long id = createOrder();
+        jdbcTemplate.execute("TRUNCATE order_events");
+
+        orderService.updateOrderStatus(id, Status.CREATED, null);
+
+        assertTrue(events().isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateOrderStatuses_WritesOneEventPerMovedOrder() {
+        Order first = saveOrder(Status.PROCESSED);
+        Order second = saveOrder(Status.PROCESSED);
+        saveOrder(Status.CREATED);
+
+        orderService.updateOrderStatuses(
+            new UpdateOrderStatusBatchDto(List.of(first.getId(), second.getId()), Status.PROCESSED, Status.SHIPPED));
+
+        List<EventRow> events = events();
+        assertEquals(List.of(first.getId(), second.getId()), events.stream().map(EventRow::orderId).toList());
+        for (EventRow event : events) {
+            assertEquals("ORDER_STATUS_CHANGED", event.type());
+            assertEquals(USER_ID, event.payload().get("userId").asLong());
+            assertEquals("SHIPPED", event.payload().get("status").asText());
+            assertEquals("PROCESSED", event.payload().get("previousStatus").asText());
+            assertEquals(1L, event.payload().get("version").asLong());
+        }
+    }
+
+    @Test
+    void test_lockNextBatch_SkipsLockedEventsAndLaterEventsOfTheirOrders() {
+        insertEvent(1L);
+        insertEvent(1L);
+        insertEvent(2L);
+
+        List<Long> lockedHere = transactionTemplate.execute(status -> {
+            List<Long> locked = orderEventRepository.lockNextBatch(1).stream().map(OrderEvent::getOrderId).toList();
+
+            // a second relay, while the first still holds order 1's oldest event
+            List<Long> lockedElsewhere = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(other ->
+                orderEventRepository.lockNextBatch(10).stream().map(OrderEvent::getOrderId).toList())).join();
+            assertEquals(List.of(2L), lockedElsewhere);
+            return locked;
+        });
+
+        assertEquals(List.of(1L), lockedHere);
+    }
+
+    @Test
+    void test_lockNextBatch_SkipsEventsBackingOffAndPassesDeadLetteredOnes() {
+        insertEvent(1L);
+        insertEvent(1L);
+        insertEvent(2L);
+        insertEvent(2L);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM order_events ORDER BY id", Long.class);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            orderEventRepository.scheduleRetry(new Long[] {ids.get(0)}, 60);
+            orderEventRepository.deadLetter(ids.get(2));
+        });
+
+        List<Long> locked = transactionTemplate.execute(status ->
+            orderEventRepository.lockNextBatch(10).stream().map(OrderEvent::getId).toList());
+        assertEquals(List.of(ids.get(3)), locked);
+    }
+}
@@ -1,30 +1,48 @@
 package com.innowise.orderservice.core.service.integration;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.orderservice.api.dto.GetCountedPageDto;
+import com.innowise.orderservice.api.dto.GetCursorPageDto;
 import com.innowise.orderservice.api.dto.item.CreateItemDto;
 import com.innowise.orderservice.api.dto.item.GetItemDto;
 import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderBatchResultDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderStatusBatchResultDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
 import com.innowise.orderservice.api.dto.order.orderitem.CreateOrderItemDto;
+import com.innowise.orderservice.core.cache.ItemCatalog;
 import com.innowise.orderservice.core.dao.ItemRepository;
 import com.innowise.orderservice.core.dao.OrderRepository;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderItem;
 import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.pagination.CountMode;
 import com.innowise.orderservice.core.service.ItemService;
 import com.innowise.orderservice.core.service.OrderService;
 import feign.FeignException;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,10 +50,19 @@ import static org.junit.jupiter.api.Assertions.*;
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
 
+    // more orders than @BatchSize on Order.orderItems, so per-order or
+    // per-batch loading shows up as extra statements
+    private static final int BUDGET_ORDERS = 30;
+    private static final int BUDGET_LINES = 3;
+
     @Autowired private OrderService orderService;
     @Autowired private ItemService itemService;
     @Autowired private OrderRepository orderRepository;
     @Autowired private ItemRepository itemRepository;
+    @Autowired private ItemCatalog itemCatalog;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter sqlStatements;
 
     @BeforeEach
     @AfterEach
@@ -44,6 +71,12 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
         itemRepository.deleteAll();
     }
 
+    @BeforeEach
+    void setUpStatementCounter() {
+        sqlStatements = new SqlStatementCounter(entityManagerFactory);
+        itemCatalog.invalidateAll();
+    }
+
     private CreateItemDto createTestItemDto() {
         return new CreateItemDto("MacBook", new BigDecimal("2000.00"));
     }
@@ -66,21 +99,55 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
     }
 
     private void stubUserServiceById(Long userId) {
-        stubFor(WireMock.get(urlPathEqualTo("/api/users/" + userId))
+        stubFor(WireMock.post(urlPathEqualTo("/api/users/batch/id"))
+            .withRequestBody(equalToJson("[%d]".formatted(userId)))
             .willReturn(aResponse()
                 .withStatus(200)
                 .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                 .withBody("""
-                    {
+                    [{
                         "id": %d,
                         "name": "Test",
                         "surname": "User",
                         "email": "test@mail.com",
                         "cards": []
-                    }
+                    }]
                     """.formatted(userId))));
     }
 
+    private List<Item> seedItems(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            items.add(new Item(null, "Item " + i, BigDecimal.valueOf(i), null));
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    private List<Long> seedOrders() {
+        List<Item> items = seedItems(BUDGET_LINES * 2);
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < BUDGET_ORDERS; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setStatus(i % 2 == 0 ? Status.CREATED : Status.PROCESSED);
+            for (int line = 0; line < BUDGET_LINES; line++) {
+                OrderItem orderItem = new OrderItem();
+                orderItem.setItem(items.get((i + line) % items.size()));
+                orderItem.setQuantity(line + 1);
+                orderItem.setOrder(order);
+                order.getOrderItems().add(orderItem);
+            }
+            orders.add(order);
+        }
+        stubUserServiceById(1L);
+
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    private List<CreateOrderItemDto> orderLines(List<Item> items) {
+        return items.stream().map(item -> new CreateOrderItemDto(item.getId(), 2)).toList();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void test_createItem_Success() {
@@ -124,6 +191,53 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
         assertEquals(1, result.getOrderDtoWithoutUser().orderItems().size());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_createOrder_ReportsAllMissingItems() {
+        Item item = itemRepository.save(new Item(null, "Phone", BigDecimal.TEN, null));
+
+        String userEmail = "ivan@mail.com";
+        CreateOrderDto orderDto = new CreateOrderDto(
+            userEmail,
+            List.of(
+                new CreateOrderItemDto(item.getId(), 1),
+                new CreateOrderItemDto(-1L, 1),
+                new CreateOrderItemDto(-2L, 1)
+            )
+        );
+
+        stubUserServiceByEmail(userEmail, 101L);
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
+            () -> orderService.createOrder(orderDto));
+
+        assertEquals("Items not found: [-1, -2]", ex.getMessage());
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_createOrders_SavesValidOrdersAndReportsFailures() {
+        Item item = itemRepository.save(new Item(null, "Phone", BigDecimal.TEN, null));
+
+        String userEmail = "batch@mail.com";
+        stubUserServiceByEmail(userEmail, 101L);
+
+        List<GetOrderBatchResultDto> results = orderService.createOrders(List.of(
+            new CreateOrderDto(userEmail, List.of(new CreateOrderItemDto(item.getId(), 1))),
+            new CreateOrderDto(userEmail, List.of(new CreateOrderItemDto(item.getId() + 1000, 1))),
+            new CreateOrderDto(userEmail, List.of(new CreateOrderItemDto(item.getId(), 3)))
+        ));
+
+        assertTrue(results.get(0).created());
+        assertFalse(results.get(1).created());
+        assertEquals("Items not found: [%d]".formatted(item.getId() + 1000), results.get(1).error());
+        assertTrue(results.get(2).created());
+        assertEquals(2, orderRepository.count());
+        verify(1, getRequestedFor(urlPathEqualTo("/api/users/email"))
+            .withQueryParam("email", equalTo(userEmail)));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void test_getOrderById_Success() {
@@ -141,6 +255,152 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
         assertEquals("Test", result.getUserDto().name());
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getAllOrders_KeysetPagination_VisitsEveryOrderOnce() {
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setUserId(55L);
+            order.setStatus(Status.CREATED);
+            orderRepository.save(order);
+        }
+
+        stubUserServiceById(55L);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            GetCursorPageDto<GetOrderDto> page = orderService.getAllOrders(cursor, 2);
+            page.content().forEach(order -> assertTrue(seen.add(order.getOrderDtoWithoutUser().id())));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByStatuses_KeysetPagination_MergesStatusesNewestFirst() {
+        List<Status> statuses = List.of(
+            Status.CREATED, Status.PROCESSED, Status.DELIVERED, Status.CREATED, Status.PROCESSED);
+        List<Long> ids = new ArrayList<>();
+        for (Status status : statuses) {
+            Order order = new Order();
+            order.setUserId(55L);
+            order.setStatus(status);
+            ids.add(orderRepository.save(order).getId());
+        }
+
+        stubUserServiceById(55L);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            GetCursorPageDto<GetOrderDto> page =
+                orderService.getOrdersByStatuses(List.of(Status.CREATED, Status.PROCESSED), cursor, 2);
+            page.content().forEach(order -> seen.add(order.getOrderDtoWithoutUser().id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(1), ids.get(0)), seen);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByUserId_PagesNewestFirst() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setUserId(i == 2 ? 56L : 55L);
+            order.setStatus(Status.CREATED);
+            ids.add(orderRepository.save(order).getId());
+        }
+
+        stubUserServiceById(55L);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            GetCursorPageDto<GetOrderDto> page = orderService.getOrdersByUserId(55L, cursor, 3);
+            page.content().forEach(order -> {
+                assertEquals(55L, order.getUserDto().id());
+                seen.add(order.getOrderDtoWithoutUser().id());
+            });
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(ids.get(4), ids.get(3), ids.get(1), ids.get(0)), seen);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByUserEmail_Success() {
+        Order order = new Order();
+        order.setUserId(101L);
+        order.setStatus(Status.CREATED);
+        Long id = orderRepository.save(order).getId();
+
+        stubUserServiceByEmail("history@mail.com", 101L);
+
+        GetCursorPageDto<GetOrderDto> page = orderService.getOrdersByUserEmail("history@mail.com", null, 20);
+
+        assertEquals(List.of(id), page.content().stream().map(o -> o.getOrderDtoWithoutUser().id()).toList());
+        assertFalse(page.hasNext());
+        assertEquals("history@mail.com", page.content().get(0).getUserDto().email());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateOrderStatuses_OnlyTransitionsMatchingOrders() {
+        Order processed = new Order();
+        processed.setUserId(55L);
+        processed.setStatus(Status.PROCESSED);
+        processed = orderRepository.save(processed);
+
+        Order created = new Order();
+        created.setUserId(55L);
+        created.setStatus(Status.CREATED);
+        created = orderRepository.save(created);
+
+        GetOrderStatusBatchResultDto result = orderService.updateOrderStatuses(new UpdateOrderStatusBatchDto(
+            List.of(processed.getId(), created.getId(), -1L), Status.PROCESSED, Status.SHIPPED));
+
+        assertEquals(new GetOrderStatusBatchResultDto(1, 2), result);
+        assertEquals(Status.SHIPPED, orderRepository.findById(processed.getId()).orElseThrow().getStatus());
+        assertEquals(Status.CREATED, orderRepository.findById(created.getId()).orElseThrow().getStatus());
+        assertEquals(1L, orderService.getOrderVersion(processed.getId()));
+        assertEquals(0L, orderService.getOrderVersion(created.getId()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_updateOrderStatus_RejectsStaleVersion() {
+        Order order = new Order();
+        order.setUserId(55L);
+        order.setStatus(Status.CREATED);
+        Long id = orderRepository.save(order).getId();
+
+        stubUserServiceById(55L);
+
+        GetOrderDto updated = orderService.updateOrderStatus(id, Status.PROCESSED, 0L);
+        assertEquals(1L, updated.getOrderDtoWithoutUser().version());
+        assertEquals(1L, orderService.getOrderVersion(id));
+
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> orderService.updateOrderStatus(id, Status.SHIPPED, 0L));
+        assertEquals(Status.PROCESSED, orderRepository.findById(id).orElseThrow().getStatus());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_updateOrderStatuses_Forbidden_ForUser() {
+        UpdateOrderStatusBatchDto dto = new UpdateOrderStatusBatchDto(List.of(1L), Status.PROCESSED, Status.SHIPPED);
+        assertThrows(AccessDeniedException.class, () -> orderService.updateOrderStatuses(dto));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void test_deleteOrder_Success() {
@@ -164,7 +424,8 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
         order.setStatus(Status.CREATED);
         orderRepository.save(order);
 
-        stubFor(WireMock.get(urlPathEqualTo("/api/users/999"))
+        stubFor(WireMock.post(urlPathEqualTo("/api/users/batch/id"))
+            .withRequestBody(equalToJson("[999]"))
             .willReturn(aResponse().withStatus(403)));
 
         assertThrows(FeignException.Forbidden.class, () -> {
@@ -173,4 +434,216 @@ class OrderServiceImplIntegrationTest extends BaseIntegrationTest {
 
         assertTrue(orderRepository.findById(order.getId()).isPresent());
     }
+
+    // Statement budgets: each bound is what the method needs today for the
+    // fixture above. Sequence values are fetched once per 50 ids, so write
+    // budgets allow one fetch per generated table.
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_createOrder_StaysWithinQueryBudget() {
+        List<Item> items = seedItems(BUDGET_LINES);
+        stubUserServiceByEmail("budget@mail.com", 1L);
+
+        // items, order insert, batched line insert, outbox insert, two sequence fetches
+        sqlStatements.assertAtMost(6, () ->
+            orderService.createOrder(new CreateOrderDto("budget@mail.com", orderLines(items))));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_createOrders_StaysWithinQueryBudget() {
+        List<Item> items = seedItems(BUDGET_LINES);
+        stubUserServiceByEmail("budget@mail.com", 1L);
+        List<CreateOrderDto> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(new CreateOrderDto("budget@mail.com", orderLines(items)));
+        }
+
+        // items, batched order insert, batched line insert, outbox insert, two sequence fetches
+        sqlStatements.assertAtMost(6, () -> orderService.createOrders(orders));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_createOrders_IssuesAFractionOfTheStatementsOfSingleCreates() {
+        List<Item> items = seedItems(BUDGET_LINES);
+        stubUserServiceByEmail("budget@mail.com", 1L);
+        CreateOrderDto order = new CreateOrderDto("budget@mail.com", orderLines(items));
+        orderService.createOrder(order);
+
+        long single = sqlStatements.count(() -> {
+            for (int i = 0; i < BUDGET_ORDERS; i++) {
+                orderService.createOrder(order);
+            }
+        });
+        long batch = sqlStatements.count(() -> orderService.createOrders(Collections.nCopies(BUDGET_ORDERS, order)));
+
+        assertTrue(batch * 10 <= single, () -> "%d orders: %d statements one by one, %d as a batch"
+            .formatted(BUDGET_ORDERS, single, batch));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrderById_StaysWithinQueryBudget() {
+        Long id = seedOrders().get(0);
+
+        // user id, order with lines and items
+        sqlStatements.assertAtMost(2, () -> orderService.getOrderById(id));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrderVersion_StaysWithinQueryBudget() {
+        Long id = seedOrders().get(0);
+
+        sqlStatements.assertAtMost(1, () -> orderService.getOrderVersion(id));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByIds_StaysWithinQueryBudget() {
+        List<Long> ids = seedOrders();
+
+        // ids, count, rows
+        sqlStatements.assertAtMost(3, () -> orderService.getOrdersByIds(ids, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByStatuses_StaysWithinQueryBudget() {
+        seedOrders();
+
+        // ids, count, rows
+        sqlStatements.assertAtMost(3, () ->
+            orderService.getOrdersByStatuses(List.of(Status.CREATED, Status.PROCESSED), PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getAllOrders_StaysWithinQueryBudget() {
+        seedOrders();
+
+        // ids, count, rows
+        sqlStatements.assertAtMost(3, () -> orderService.getAllOrders(PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getAllOrders_WithoutCount_StaysWithinQueryBudget() {
+        seedOrders();
+
+        // ids, rows
+        GetCountedPageDto<GetOrderDto> page = sqlStatements.assertAtMost(2, () ->
+            orderService.getAllOrders(PageRequest.of(0, 20), CountMode.NONE));
+
+        assertNull(page.totalElements());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByStatuses_ExactCount_ReadsStatusStats() {
+        seedOrders();
+        List<Status> statuses = List.of(Status.CREATED, Status.PROCESSED);
+
+        // ids, status stats, rows
+        GetCountedPageDto<GetOrderDto> page = sqlStatements.assertAtMost(3, () ->
+            orderService.getOrdersByStatuses(statuses, PageRequest.of(0, 20), CountMode.EXACT));
+
+        assertEquals(Long.valueOf(BUDGET_ORDERS), page.totalElements());
+        assertEquals(CountMode.EXACT, page.countMode());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getAllOrders_Keyset_StaysWithinQueryBudget() {
+        seedOrders();
+
+        // keys, rows
+        sqlStatements.assertAtMost(2, () -> orderService.getAllOrders("", BUDGET_ORDERS));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByIds_Keyset_StaysWithinQueryBudget() {
+        List<Long> ids = seedOrders();
+
+        // keys, rows
+        sqlStatements.assertAtMost(2, () -> orderService.getOrdersByIds(ids, "", BUDGET_ORDERS));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByStatuses_Keyset_StaysWithinQueryBudget() {
+        seedOrders();
+
+        // keys per status, rows
+        sqlStatements.assertAtMost(3, () ->
+            orderService.getOrdersByStatuses(List.of(Status.CREATED, Status.PROCESSED), "", BUDGET_ORDERS));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrdersByUserId_StaysWithinQueryBudget() {
+        seedOrders();
+        String cursor = orderService.getOrdersByUserId(1L, null, 10).nextCursor();
+
+        // keys, rows
+        sqlStatements.assertAtMost(2, () -> orderService.getOrdersByUserId(1L, cursor, 10));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_exportOrders_StreamsEveryOrderInOneQuery() {
+        List<Long> ids = seedOrders();
+        Instant from = Instant.now().minus(1, ChronoUnit.HOURS);
+        Instant to = Instant.now().plus(1, ChronoUnit.HOURS);
+        List<GetOrderDto> exported = new ArrayList<>();
+
+        // one cursor over orders, lines and items
+        sqlStatements.assertAtMost(1, () -> orderService.exportOrders(from, to, exported::addAll));
+
+        assertEquals(ids, exported.stream().map(order -> order.getOrderDtoWithoutUser().id()).toList());
+        assertTrue(exported.stream().allMatch(order ->
+            order.getOrderDtoWithoutUser().orderItems().size() == BUDGET_LINES && order.getUserDto().id() == 1L));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_exportOrders_Forbidden_ForUser() {
+        Instant now = Instant.now();
+        assertThrows(AccessDeniedException.class,
+            () -> orderService.exportOrders(now.minusSeconds(60), now, orders -> { }));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_updateOrderStatus_StaysWithinQueryBudget() {
+        Long id = seedOrders().get(0);
+
+        // order with lines and items, update, outbox insert
+        sqlStatements.assertAtMost(3, () -> orderService.updateOrderStatus(id, Status.SHIPPED, null));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_updateOrderStatuses_StaysWithinQueryBudget() {
+        List<Long> ids = seedOrders();
+
+        // the outbox events are inserted by the update statement itself
+        sqlStatements.assertAtMost(1, () -> orderService.updateOrderStatuses(
+            new UpdateOrderStatusBatchDto(ids, Status.CREATED, Status.PROCESSED)));
+        sqlStatements.assertAtMost(1, () -> orderService.updateOrderStatuses(
+            new UpdateOrderStatusBatchDto(null, Status.PROCESSED, Status.SHIPPED)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_deleteOrder_StaysWithinQueryBudget() {
+        Long id = seedOrders().get(0);
+
+        // order, order again for the delete, lines, batched line delete, order delete, outbox insert
+        sqlStatements.assertAtMost(6, () -> orderService.deleteOrder(id));
+    }
 }
\ No newline at end of file
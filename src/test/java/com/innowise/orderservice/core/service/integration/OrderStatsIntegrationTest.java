@@ -0,0 +1,154 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
+import com.innowise.orderservice.api.dto.stats.GetDailyStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetItemStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetOrderStatsDto;
+import com.innowise.orderservice.api.dto.stats.GetStatusStatsDto;
+import com.innowise.orderservice.core.dao.ItemRepository;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Item;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.OrderItem;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.service.OrderService;
+import com.innowise.orderservice.core.service.OrderStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OrderStatsIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired private OrderStatsService orderStatsService;
+    @Autowired private OrderService orderService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private ItemRepository itemRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+        orderStatsService.reconcile();
+    }
+
+    private Order saveOrder(Status status, Item item, int quantity) {
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setStatus(status);
+
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setQuantity(quantity);
+        orderItem.setOrder(order);
+        order.getOrderItems().add(orderItem);
+
+        return orderRepository.save(order);
+    }
+
+    private GetStatusStatsDto statusStats(Status status) {
+        return orderStatsService.getOrderStats().statuses().stream()
+            .filter(stats -> stats.status() == status)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_getOrderStats_FollowsCreates() {
+        Item phone = itemRepository.save(new Item(null, "Phone", new BigDecimal("10.00"), null));
+        Item laptop = itemRepository.save(new Item(null, "Laptop", new BigDecimal("100.00"), null));
+
+        saveOrder(Status.CREATED, phone, 2);
+        saveOrder(Status.CREATED, laptop, 1);
+        saveOrder(Status.SHIPPED, phone, 3);
+
+        GetOrderStatsDto stats = orderStatsService.getOrderStats();
+        assertEquals(3L, stats.orderCount());
+        assertEquals(0, new BigDecimal("150.00").compareTo(stats.revenue()));
+        assertEquals(Status.values().length, stats.statuses().size());
+
+        assertEquals(2L, statusStats(Status.CREATED).orderCount());
+        assertEquals(0, new BigDecimal("120.00").compareTo(statusStats(Status.CREATED).revenue()));
+        assertEquals(0L, statusStats(Status.CANCELLED).orderCount());
+
+        GetItemStatsDto phoneStats = orderStatsService.getItemStats(phone.getId());
+        assertEquals(2L, phoneStats.orderCount());
+        assertEquals(5L, phoneStats.units());
+        assertEquals(0, new BigDecimal("50.00").compareTo(phoneStats.revenue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_getOrderStats_FollowsStatusChangesAndDeletes() {
+        Item phone = itemRepository.save(new Item(null, "Phone", new BigDecimal("10.00"), null));
+        Order first = saveOrder(Status.PROCESSED, phone, 1);
+        Order second = saveOrder(Status.PROCESSED, phone, 2);
+
+        orderService.updateOrderStatuses(
+            new UpdateOrderStatusBatchDto(List.of(first.getId()), Status.PROCESSED, Status.SHIPPED));
+
+        assertEquals(1L, statusStats(Status.PROCESSED).orderCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(statusStats(Status.PROCESSED).revenue()));
+        assertEquals(1L, statusStats(Status.SHIPPED).orderCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(statusStats(Status.SHIPPED).revenue()));
+
+        orderRepository.deleteById(second.getId());
+
+        assertEquals(0L, statusStats(Status.PROCESSED).orderCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(statusStats(Status.PROCESSED).revenue()));
+        assertEquals(1L, orderStatsService.getItemStats(phone.getId()).orderCount());
+        assertEquals(1L, orderStatsService.getItemStats(phone.getId()).units());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_getDailyStats_ReturnsOrdersCreatedInPeriod() {
+        Item phone = itemRepository.save(new Item(null, "Phone", new BigDecimal("10.00"), null));
+        saveOrder(Status.CREATED, phone, 4);
+
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        List<GetDailyStatsDto> stats = orderStatsService.getDailyStats(today.minusDays(1), today.plusDays(2));
+
+        assertEquals(1, stats.size());
+        assertEquals(Status.CREATED, stats.get(0).status());
+        assertEquals(1L, stats.get(0).orderCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(stats.get(0).revenue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void test_reconcile_FoldsInPriceChanges() {
+        Item phone = itemRepository.save(new Item(null, "Phone", new BigDecimal("10.00"), null));
+        saveOrder(Status.CREATED, phone, 2);
+
+        jdbcTemplate.update("UPDATE items SET price = 15.00 WHERE id = ?", phone.getId());
+        assertEquals(0, new BigDecimal("20.00").compareTo(statusStats(Status.CREATED).revenue()));
+
+        assertTrue(orderStatsService.reconcile() > 0);
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(statusStats(Status.CREATED).revenue()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(orderStatsService.getItemStats(phone.getId()).revenue()));
+        assertEquals(0, orderStatsService.reconcile());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void test_getOrderStats_Forbidden_ForUser() {
+        assertThrows(AccessDeniedException.class, () -> orderStatsService.getOrderStats());
+    }
+}
@@ -0,0 +1,185 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.dao.projection.OrderKeyView;
+import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.service.OrderStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Status listings over a large {@code orders} table where DELIVERED and
+ * CANCELLED hold 95% of the rows. For every status it logs the plans of the
+ * first keyset page as the driver runs it, a prepared {@code status = $1},
+ * under a generic and under a forced custom plan, and the latency of a first
+ * and a deep page. Hot statuses must be answered from their partial index
+ * once custom plans are forced, as the service does.
+ *
+ * <p>Off by default. Run with, for example:
+ * <pre>
+ * ./mvnw test -Dtest=OrderStatusIndexBenchmarkTest -Dstatus.benchmark=true \
+ *     -Dstatus.benchmark.orders=20000000
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "status.benchmark", matches = "true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OrderStatusIndexBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusIndexBenchmarkTest.class);
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_QUERIES = 50;
+    private static final int MEASURED_QUERIES = 500;
+    private static final List<Status> HOT_STATUSES = List.of(Status.CREATED, Status.PROCESSED, Status.SHIPPED);
+
+    @Value("${status.benchmark.orders:20000000}") private long seededOrders;
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderStatsService orderStatsService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate readOnlyTransactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE order_items, orders");
+                // bypass the summary triggers, which would add a grouped delta over every row
+                statement.execute("SET session_replication_role = replica");
+                statement.execute("""
+                    INSERT INTO orders (id, user_id, status, creation_date, version)
+                    SELECT g,
+                           1 + (g % 100000),
+                           CASE WHEN r < 0.01 THEN 'CREATED'
+                                WHEN r < 0.03 THEN 'PROCESSED'
+                                WHEN r < 0.05 THEN 'SHIPPED'
+                                WHEN r < 0.65 THEN 'DELIVERED'
+                                ELSE 'CANCELLED' END,
+                           TIMESTAMP '2023-01-01' + g * INTERVAL '5 seconds',
+                           0
+                    FROM (SELECT g, random() AS r FROM generate_series(1, %d) AS g) s
+                    """.formatted(seededOrders));
+                statement.execute("RESET session_replication_role");
+                statement.execute("ANALYZE orders");
+            }
+            return null;
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.execute("TRUNCATE order_items, orders");
+        orderStatsService.reconcile();
+    }
+
+    @Test
+    void statusListing_hotStatusesUsePartialIndexes() {
+        Instant middle = Instant.parse("2023-01-01T00:00:00Z").plusSeconds(seededOrders / 2 * 5);
+
+        for (Status status : Status.values()) {
+            String genericPlan = explainPrepared(status, "force_generic_plan");
+            String plan = explainPrepared(status, "force_custom_plan");
+
+            double[] firstPage = measure(() -> orderRepository.findKeysByStatus(status, Limit.of(PAGE_SIZE + 1)));
+            double[] deepPage = measure(() -> orderRepository.findKeysByStatusAfter(
+                status, middle, Long.MAX_VALUE, Limit.of(PAGE_SIZE + 1)));
+
+            logger.info("""
+                    status {} over {} orders
+                      first page p50 {} ms, p99 {} ms
+                      deep page  p50 {} ms, p99 {} ms
+                    generic plan:
+                    {}
+                    custom plan:
+                    {}""",
+                status, seededOrders,
+                String.format("%.3f", firstPage[0]), String.format("%.3f", firstPage[1]),
+                String.format("%.3f", deepPage[0]), String.format("%.3f", deepPage[1]),
+                genericPlan, plan);
+
+            if (HOT_STATUSES.contains(status)) {
+                String index = "idx_orders_" + status.name().toLowerCase() + "_creation_date_id";
+                assertTrue(plan.contains(index), () -> status + " is not served by " + index + ":\n" + plan);
+            }
+        }
+    }
+
+    /**
+     * Explains the first-page query the way the driver sends it once it is
+     * server-side prepared, with the status bound as a parameter.
+     */
+    private String explainPrepared(Status status, String planCacheMode) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = " + planCacheMode);
+                statement.execute("""
+                    PREPARE status_page(varchar, int) AS
+                    SELECT o.id, o.creation_date FROM orders o
+                    WHERE o.status = $1
+                    ORDER BY o.creation_date DESC, o.id DESC
+                    LIMIT $2
+                    """);
+                try {
+                    List<String> lines = new ArrayList<>();
+                    try (ResultSet plan = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS) EXECUTE status_page('%s', %d)"
+                        .formatted(status, PAGE_SIZE + 1))) {
+                        while (plan.next()) {
+                            lines.add(plan.getString(1));
+                        }
+                    }
+                    return String.join("\n", lines);
+                } finally {
+                    statement.execute("DEALLOCATE status_page");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    /** Returns p50 and p99 in milliseconds, forcing custom plans like the service. */
+    private double[] measure(Supplier<List<OrderKeyView>> query) {
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            readOnlyTransactionTemplate.execute(status -> {
+                orderRepository.forceCustomPlans();
+                return query.get();
+            });
+        }
+
+        long[] latencies = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            long start = System.nanoTime();
+            readOnlyTransactionTemplate.execute(status -> {
+                orderRepository.forceCustomPlans();
+                return query.get();
+            });
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        return new double[] {
+            latencies[MEASURED_QUERIES / 2] / 1e6,
+            latencies[(int) Math.ceil(MEASURED_QUERIES * 0.99) - 1] / 1e6
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.innowise.orderservice.core.service.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Baseline for {@link VirtualThreadLoadTest}: reports platform-thread
+ * throughput next to the tomcat threads / latency ceiling.
+ */
+@EnabledIfSystemProperty(named = "load.threads", matches = "true")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadTest extends UserLatencyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformThreadLoadTest.class);
+
+    @Test
+    void throughput_onPlatformThreads() throws Exception {
+        double throughput = measureThroughput();
+
+        logger.info("Platform threads: {} req/s with {} ms user-service latency (ceiling {} req/s)",
+            String.format("%.1f", throughput), USER_SERVICE_DELAY_MS, platformThreadCeiling());
+    }
+}
@@ -0,0 +1,50 @@
+package com.innowise.orderservice.core.service.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a block runs, using the
+ * session factory statistics. Counting is global, so blocks must not overlap
+ * with other database work in the same context. A batched insert counts once,
+ * as it is one prepared statement.
+ */
+final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    <T> T assertAtMost(int budget, Supplier<T> block) {
+        statistics.clear();
+        T result = block.get();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget, () -> ("Expected at most %d SQL statements but %d were issued "
+            + "(%d entity loads, %d collection fetches, queries: %s)").formatted(
+            budget, statements, statistics.getEntityLoadCount(), statistics.getCollectionFetchCount(),
+            String.join(" | ", statistics.getQueries())));
+        return result;
+    }
+
+    long count(Runnable block) {
+        statistics.clear();
+        block.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    void assertAtMost(int budget, Runnable block) {
+        assertAtMost(budget, () -> {
+            block.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.innowise.orderservice.core.service.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.orderservice.core.dao.OrderRepository;
+import com.innowise.orderservice.core.entity.Order;
+import com.innowise.orderservice.core.entity.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.WireMockConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives concurrent GET /api/orders/{id} requests over HTTP while user-service
+ * answers after a fixed delay. User lookups run with the shipped caching and
+ * batching settings; every order belongs to a different user, so each
+ * request misses the cache and waits on a batched remote call, whose
+ * dispatch concurrency ({@code user.batching.concurrency}) is part of what
+ * is measured. On platform threads throughput is capped at tomcat threads /
+ * latency; subclasses compare against that cap.
+ *
+ * <p>Off by default. Run with, for example:
+ * <pre>
+ * ./mvnw test -Dtest='*ThreadLoadTest' -Dload.threads=true
+ * </pre>
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@Import(UserLatencyLoadTest.WireMockThreads.class)
+@TestPropertySource(properties = "server.tomcat.threads.max=" + UserLatencyLoadTest.TOMCAT_THREADS)
+abstract class UserLatencyLoadTest extends BaseIntegrationTest {
+
+    static final int TOMCAT_THREADS = 10;
+    static final int USER_SERVICE_DELAY_MS = 500;
+
+    private static final int CONCURRENCY = 100;
+    private static final int REQUESTS = 300;
+    private static final int WARMUP_REQUESTS = 5;
+    private static final String TOKEN = "load-test-token";
+
+    @TestConfiguration
+    static class WireMockThreads {
+
+        @Bean
+        WireMockConfigurationCustomizer wireMockThreads() {
+            return options -> options.containerThreads(CONCURRENCY + 50);
+        }
+    }
+
+    @LocalServerPort private int port;
+    @Autowired private OrderRepository orderRepository;
+
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void setUp() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= WARMUP_REQUESTS + REQUESTS; i++) {
+            Order order = new Order();
+            order.setUserId((long) i);
+            order.setStatus(Status.CREATED);
+            orders.add(order);
+        }
+        orderIds = orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+
+        when(jwtDecoder.decode(anyString())).thenReturn(Jwt.withTokenValue(TOKEN)
+            .header("alg", "none")
+            .subject("load-test")
+            .claim("scope", "ROLE_USER")
+            .build());
+
+        // one response holding every user; the loader picks the ids it asked for
+        stubFor(WireMock.post(urlPathEqualTo("/api/users/batch/id"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withFixedDelay(USER_SERVICE_DELAY_MS)
+                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .withBody(IntStream.rangeClosed(1, WARMUP_REQUESTS + REQUESTS)
+                    .mapToObj("""
+                        {"id": %d, "name": "Test", "surname": "User", "email": "user%1$d@mail.com", "cards": []}"""::formatted)
+                    .collect(Collectors.joining(",", "[", "]")))));
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAll();
+    }
+
+    static double platformThreadCeiling() {
+        return TOMCAT_THREADS * 1000.0 / USER_SERVICE_DELAY_MS;
+    }
+
+    private HttpRequest request(int index) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:%d/api/orders/%d".formatted(port, orderIds.get(index))))
+            .header("Authorization", "Bearer " + TOKEN)
+            .GET()
+            .build();
+    }
+
+    double measureThroughput() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            HttpClient httpClient = HttpClient.newHttpClient();
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                assertEquals(200, httpClient.send(request(i), HttpResponse.BodyHandlers.discarding()).statusCode());
+            }
+
+            long start = System.nanoTime();
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = WARMUP_REQUESTS; i < WARMUP_REQUESTS + REQUESTS; i++) {
+                HttpRequest request = request(i);
+                responses.add(callers.submit(() ->
+                    httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> response : responses) {
+                assertEquals(200, response.get());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return REQUESTS / seconds;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.innowise.orderservice.core.service.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnabledIfSystemProperty(named = "load.threads", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadTest extends UserLatencyLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    @Test
+    void throughput_isNotCappedByTomcatThreads() throws Exception {
+        double throughput = measureThroughput();
+
+        logger.info("Virtual threads: {} req/s with {} ms user-service latency (platform ceiling {} req/s)",
+            String.format("%.1f", throughput), USER_SERVICE_DELAY_MS, platformThreadCeiling());
+
+        assertTrue(throughput > platformThreadCeiling() * 1.5,
+            "Virtual-thread throughput should clearly exceed the platform-thread ceiling");
+    }
+}
@@ -2,6 +2,7 @@ package com.innowise.orderservice.core.service.unit;
 
 import com.innowise.orderservice.api.dto.item.CreateItemDto;
 import com.innowise.orderservice.api.dto.item.GetItemDto;
+import com.innowise.orderservice.core.cache.ItemCatalog;
 import com.innowise.orderservice.core.dao.ItemRepository;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.mapper.itemmapper.CreateItemMapper;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -31,6 +33,8 @@ class ItemServiceImplTest {
     private GetItemMapper getItemMapper;
     @Mock
     private CreateItemMapper createItemMapper;
+    @Mock
+    private ItemCatalog itemCatalog;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -38,9 +42,9 @@ class ItemServiceImplTest {
     @Test
     void createItem_shouldSaveAndReturnDto() {
         CreateItemDto createDto = new CreateItemDto("Laptop", new BigDecimal("1000.00"));
-        Item itemEntity = new Item(null, "Laptop", new BigDecimal("1000.00"));
-        Item savedItem = new Item(1L, "Laptop", new BigDecimal("1000.00"));
-        GetItemDto expectedDto = new GetItemDto(1L, "Laptop", new BigDecimal("1000.00"));
+        Item itemEntity = new Item(null, "Laptop", new BigDecimal("1000.00"), null);
+        Item savedItem = new Item(1L, "Laptop", new BigDecimal("1000.00"), 0L);
+        GetItemDto expectedDto = new GetItemDto(1L, "Laptop", new BigDecimal("1000.00"), 0L);
 
         when(createItemMapper.toEntity(createDto)).thenReturn(itemEntity);
         when(itemRepository.save(itemEntity)).thenReturn(savedItem);
@@ -56,20 +60,19 @@ class ItemServiceImplTest {
     @Test
     void getItemById_shouldReturnDto_whenExists() {
         Long id = 1L;
-        Item item = new Item(id, "Phone", BigDecimal.TEN);
-        GetItemDto expectedDto = new GetItemDto(id, "Phone", BigDecimal.TEN);
+        GetItemDto expectedDto = new GetItemDto(id, "Phone", BigDecimal.TEN, 0L);
 
-        when(itemRepository.findById(id)).thenReturn(Optional.of(item));
-        when(getItemMapper.toDto(item)).thenReturn(expectedDto);
+        when(itemCatalog.get(id)).thenReturn(expectedDto);
 
         GetItemDto result = itemService.getItemById(id);
 
         assertThat(result).isEqualTo(expectedDto);
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void getItemById_shouldThrowException_whenNotFound() {
-        when(itemRepository.findById(99L)).thenReturn(Optional.empty());
+        when(itemCatalog.get(99L)).thenThrow(new EntityNotFoundException("Item not found: 99"));
 
         assertThatThrownBy(() -> itemService.getItemById(99L))
             .isInstanceOf(EntityNotFoundException.class)
@@ -80,9 +83,9 @@ class ItemServiceImplTest {
     void updateItem_shouldUpdateAndReturnDto() {
         Long id = 1L;
         CreateItemDto updateDto = new CreateItemDto("Updated Name", BigDecimal.ONE);
-        Item existingItem = new Item(id, "Old Name", BigDecimal.TEN);
-        Item savedItem = new Item(id, "Updated Name", BigDecimal.ONE);
-        GetItemDto expectedDto = new GetItemDto(id, "Updated Name", BigDecimal.ONE);
+        Item existingItem = new Item(id, "Old Name", BigDecimal.TEN, 0L);
+        Item savedItem = new Item(id, "Updated Name", BigDecimal.ONE, 1L);
+        GetItemDto expectedDto = new GetItemDto(id, "Updated Name", BigDecimal.ONE, 1L);
 
         when(itemRepository.findById(id)).thenReturn(Optional.of(existingItem));
         doAnswer(invocation -> {
@@ -93,24 +96,40 @@ class ItemServiceImplTest {
             return null;
         }).when(createItemMapper).merge(existingItem, updateDto);
 
-        when(itemRepository.save(existingItem)).thenReturn(savedItem);
+        when(itemRepository.saveAndFlush(existingItem)).thenReturn(savedItem);
         when(getItemMapper.toDto(savedItem)).thenReturn(expectedDto);
 
-        GetItemDto result = itemService.updateItem(id, updateDto);
+        GetItemDto result = itemService.updateItem(id, updateDto, 0L);
 
         assertThat(result.name()).isEqualTo("Updated Name");
-        verify(itemRepository).save(existingItem);
+        assertThat(result.version()).isEqualTo(1L);
+        verify(itemRepository).saveAndFlush(existingItem);
+        verify(itemCatalog).invalidateAfterCommit(id);
+    }
+
+    @Test
+    void updateItem_shouldReject_whenVersionIsStale() {
+        Long id = 1L;
+        CreateItemDto updateDto = new CreateItemDto("Updated Name", BigDecimal.ONE);
+        when(itemRepository.findById(id)).thenReturn(Optional.of(new Item(id, "Old Name", BigDecimal.TEN, 3L)));
+
+        assertThatThrownBy(() -> itemService.updateItem(id, updateDto, 2L))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        verify(itemRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(itemCatalog);
     }
 
     @Test
     void deleteItem_shouldDelete_whenExists() {
         Long id = 1L;
-        Item item = new Item(id, "Val", BigDecimal.ONE);
+        Item item = new Item(id, "Val", BigDecimal.ONE, 0L);
         when(itemRepository.findById(id)).thenReturn(Optional.of(item));
 
         itemService.deleteItem(id);
 
         verify(itemRepository).delete(item);
+        verify(itemCatalog).invalidateAfterCommit(id);
     }
 
     @Test
@@ -121,5 +140,6 @@ class ItemServiceImplTest {
             .isInstanceOf(EntityNotFoundException.class);
 
         verify(itemRepository, never()).delete(any());
+        verifyNoInteractions(itemCatalog);
     }
 }
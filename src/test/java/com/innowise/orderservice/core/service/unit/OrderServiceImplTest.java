@@ -1,38 +1,81 @@
 package com.innowise.orderservice.core.service.unit;
 
 import com.innowise.orderservice.api.client.GetUserDto;
-import com.innowise.orderservice.api.client.UserClient;
+import com.innowise.orderservice.api.dto.GetCountedPageDto;
+import com.innowise.orderservice.api.dto.GetCursorPageDto;
 import com.innowise.orderservice.api.dto.order.CreateOrderDto;
+import com.innowise.orderservice.api.dto.order.GetOrderBatchResultDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDto;
 import com.innowise.orderservice.api.dto.order.GetOrderDtoWithoutUser;
+import com.innowise.orderservice.api.dto.order.GetOrderStatusBatchResultDto;
+import com.innowise.orderservice.api.dto.order.UpdateOrderStatusBatchDto;
 import com.innowise.orderservice.api.dto.order.orderitem.CreateOrderItemDto;
+import com.innowise.orderservice.core.cache.ItemCatalog;
+import com.innowise.orderservice.core.client.CachedUserClient;
+import com.innowise.orderservice.core.config.ExecutorConfig;
 import com.innowise.orderservice.core.dao.ItemRepository;
 import com.innowise.orderservice.core.dao.OrderRepository;
 import com.innowise.orderservice.core.entity.Item;
 import com.innowise.orderservice.core.entity.Order;
 import com.innowise.orderservice.core.entity.Status;
+import com.innowise.orderservice.core.dao.projection.OrderItemRow;
+import com.innowise.orderservice.core.dao.projection.OrderKeyView;
+import com.innowise.orderservice.core.exception.InvalidCursorException;
+import com.innowise.orderservice.core.exception.InvalidRequestException;
+import com.innowise.orderservice.core.mapper.itemmapper.GetItemMapperImpl;
 import com.innowise.orderservice.core.mapper.order.GetOrderDtoWithoutUserMapper;
+import com.innowise.orderservice.core.mapper.order.OrderItemRowAssembler;
+import com.innowise.orderservice.core.mapper.order.OrderSnapshot;
+import com.innowise.orderservice.core.metrics.BasketMetrics;
+import com.innowise.orderservice.core.pagination.CountMode;
+import com.innowise.orderservice.core.outbox.OrderOutbox;
+import com.innowise.orderservice.core.pagination.OrderCounter;
+import com.innowise.orderservice.core.pagination.OrderCursor;
 import com.innowise.orderservice.core.service.impl.OrderServiceImpl;
 import feign.FeignException;
+import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import feign.Request;
 import feign.RequestTemplate;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,11 +86,17 @@ class OrderServiceImplTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserClient userClient;
+    private CachedUserClient userClient;
     @Mock
     private GetOrderDtoWithoutUserMapper getOrderDtoWithoutUserMapper;
+    @Mock
+    private OrderCounter orderCounter;
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private OrderServiceImpl orderService;
 
     private final Long USER_ID = 100L;
@@ -55,17 +104,39 @@ class OrderServiceImplTest {
     private final GetUserDto USER_DTO = new GetUserDto(USER_ID, "John", "Doe", null, USER_EMAIL, List.of());
 
     private final GetOrderDtoWithoutUser ORDER_WITHOUT_USER_DTO = new GetOrderDtoWithoutUser(
-        1L, Status.CREATED, Instant.now(), new HashSet<>()
+        1L, Status.CREATED, Instant.now(), new HashSet<>(), 0L
     );
 
+    @BeforeEach
+    void setUp() {
+        orderService = orderService(new TaskExecutorAdapter(Runnable::run));
+    }
+
+    private OrderServiceImpl orderService(AsyncTaskExecutor userLookupExecutor) {
+        return new OrderServiceImpl(
+            orderRepository,
+            new ItemCatalog(itemRepository, new GetItemMapperImpl(), new SimpleMeterRegistry(), Duration.ofMinutes(10), 100),
+            userClient,
+            getOrderDtoWithoutUserMapper,
+            new OrderItemRowAssembler(),
+            orderCounter,
+            orderOutbox,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new BasketMetrics(new SimpleMeterRegistry()),
+            new TransactionTemplate(transactionManager),
+            new TransactionTemplate(transactionManager),
+            userLookupExecutor
+        );
+    }
+
     @Test
     void createOrder_shouldCreateOrder_whenUserAndItemsExist() {
         CreateOrderItemDto itemDto = new CreateOrderItemDto(1L, 2);
         CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(itemDto));
-        Item itemEntity = new Item(1L, "Item 1", BigDecimal.TEN);
+        Item itemEntity = new Item(1L, "Item 1", BigDecimal.TEN, 0L);
 
         when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(itemEntity));
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(itemEntity));
 
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
             Order order = invocation.getArgument(0);
@@ -82,6 +153,151 @@ class OrderServiceImplTest {
 
         verify(userClient).getUserByEmail(USER_EMAIL);
         verify(orderRepository).save(any(Order.class));
+        verify(orderOutbox).orderCreated(new OrderSnapshot(ORDER_WITHOUT_USER_DTO, USER_ID));
+    }
+
+    @Test
+    void createOrder_shouldResolveItemsInOneQueryAndMergeDuplicateLines() {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(
+            new CreateOrderItemDto(1L, 2),
+            new CreateOrderItemDto(2L, 1),
+            new CreateOrderItemDto(1L, 3)
+        ));
+        Item item1 = new Item(1L, "Item 1", BigDecimal.TEN, 0L);
+        Item item2 = new Item(2L, "Item 2", BigDecimal.ONE, 0L);
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(itemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(item1, item2));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        orderService.createOrder(createOrderDto);
+
+        verify(itemRepository, times(1)).findAllById(any());
+        verify(itemRepository, never()).findById(any());
+        verify(orderRepository).save(argThat(order -> {
+            Map<Long, Integer> quantities = new HashMap<>();
+            order.getOrderItems().forEach(orderItem ->
+                quantities.put(orderItem.getItem().getId(), orderItem.getQuantity()));
+            return quantities.equals(Map.of(1L, 5, 2L, 1));
+        }));
+    }
+
+    @Test
+    void createOrder_shouldReportAllMissingItems() {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(
+            new CreateOrderItemDto(1L, 1),
+            new CreateOrderItemDto(7L, 1),
+            new CreateOrderItemDto(8L, 1)
+        ));
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(itemRepository.findAllById(Set.of(1L, 7L, 8L)))
+            .thenReturn(List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L)));
+
+        assertThatThrownBy(() -> orderService.createOrder(createOrderDto))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("Items not found: [7, 8]");
+
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrders_shouldReportPerOrderFailuresAndSaveTheRest() {
+        String otherEmail = "other@mail.com";
+        List<CreateOrderDto> createOrderDtos = List.of(
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 2))),
+            new CreateOrderDto("not-an-email", List.of(new CreateOrderItemDto(1L, 1))),
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(9L, 1))),
+            new CreateOrderDto(otherEmail, List.of(new CreateOrderItemDto(1L, 1)))
+        );
+        GetUserDto fallbackUser = new GetUserDto(-1L, "N/A", "N/A", null, "N/A", List.of());
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(userClient.getUserByEmail(otherEmail)).thenReturn(fallbackUser);
+        when(itemRepository.findAllById(Set.of(1L, 9L)))
+            .thenReturn(List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L)));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        List<GetOrderBatchResultDto> results = orderService.createOrders(createOrderDtos);
+
+        assertThat(results).extracting(GetOrderBatchResultDto::index).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(GetOrderBatchResultDto::created).containsExactly(true, false, false, false);
+        assertThat(results.get(0).order().getUserDto()).isEqualTo(USER_DTO);
+        assertThat(results.get(1).error()).isEqualTo("userEmail: User email must be valid");
+        assertThat(results.get(2).error()).isEqualTo("Items not found: [9]");
+        assertThat(results.get(3).error()).isEqualTo("User service is unavailable, cannot create order.");
+
+        verify(orderRepository).saveAll(argThat(orders -> ((List<Order>) orders).size() == 1));
+    }
+
+    @Test
+    void createOrders_shouldReportOrdersTheRepositoryRejectsAndSaveTheRest() {
+        String otherEmail = "other@mail.com";
+        GetUserDto otherUser = new GetUserDto(2L, "Jane", "Doe", null, otherEmail, List.of());
+        List<CreateOrderDto> createOrderDtos = List.of(
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1))),
+            new CreateOrderDto(otherEmail, List.of(new CreateOrderItemDto(1L, 1)))
+        );
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(userClient.getUserByEmail(otherEmail)).thenReturn(otherUser);
+        when(itemRepository.findAllById(Set.of(1L)))
+            .thenReturn(List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L)));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getUserId().equals(otherUser.id()))) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            return orders;
+        });
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        List<GetOrderBatchResultDto> results = orderService.createOrders(createOrderDtos);
+
+        assertThat(results).extracting(GetOrderBatchResultDto::created).containsExactly(true, false);
+        assertThat(results.get(0).order().getUserDto()).isEqualTo(USER_DTO);
+        assertThat(results.get(1).error()).isEqualTo("Order could not be saved: rejected");
+
+        verify(orderRepository, times(3)).saveAll(anyList());
+        verify(orderOutbox).ordersCreated(argThat(snapshots -> snapshots.size() == 1));
+    }
+
+    @Test
+    void createOrders_shouldResolveEachEmailOnceAndItemsInOneQuery() {
+        List<CreateOrderDto> createOrderDtos = List.of(
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1))),
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(2L, 1))),
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 3)))
+        );
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(itemRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(
+            new Item(1L, "Item 1", BigDecimal.TEN, 0L),
+            new Item(2L, "Item 2", BigDecimal.ONE, 0L)
+        ));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        List<GetOrderBatchResultDto> results = orderService.createOrders(createOrderDtos);
+
+        assertThat(results).allMatch(GetOrderBatchResultDto::created);
+        verify(userClient, times(1)).getUserByEmail(USER_EMAIL);
+        verify(itemRepository, times(1)).findAllById(any());
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrders_shouldRejectOversizedBatch() {
+        List<CreateOrderDto> createOrderDtos = Collections.nCopies(1001,
+            new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1))));
+
+        assertThatThrownBy(() -> orderService.createOrders(createOrderDtos))
+            .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(userClient, itemRepository, orderRepository);
     }
 
     @Test
@@ -105,7 +321,8 @@ class OrderServiceImplTest {
         order.setId(orderId);
         order.setUserId(USER_ID);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findUserIdById(orderId)).thenReturn(Optional.of(USER_ID));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
         when(userClient.getUserById(USER_ID)).thenReturn(USER_DTO);
         when(getOrderDtoWithoutUserMapper.toDto(order)).thenReturn(ORDER_WITHOUT_USER_DTO);
 
@@ -115,43 +332,271 @@ class OrderServiceImplTest {
         assertThat(result.getUserDto()).isEqualTo(USER_DTO);
     }
 
+    @Test
+    void getOrderById_shouldLoadOrderWhileUserLookupIsInFlight() {
+        orderService = orderService(new SimpleAsyncTaskExecutor());
+        Long orderId = 1L;
+        Order order = new Order();
+        order.setId(orderId);
+        order.setUserId(USER_ID);
+        CountDownLatch orderLoaded = new CountDownLatch(1);
+
+        when(orderRepository.findUserIdById(orderId)).thenReturn(Optional.of(USER_ID));
+        when(orderRepository.findWithItemsById(orderId)).thenAnswer(invocation -> {
+            orderLoaded.countDown();
+            return Optional.of(order);
+        });
+        when(userClient.getUserById(USER_ID)).thenAnswer(invocation -> {
+            assertThat(orderLoaded.await(5, TimeUnit.SECONDS)).isTrue();
+            return USER_DTO;
+        });
+        when(getOrderDtoWithoutUserMapper.toDto(order)).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        GetOrderDto result = orderService.getOrderById(orderId);
+
+        assertThat(result.getUserDto()).isEqualTo(USER_DTO);
+    }
+
+    @Test
+    void getOrderById_shouldNotCallUserService_whenOrderIsMissing() {
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderService.getOrderById(1L))
+            .isInstanceOf(EntityNotFoundException.class);
+
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void createOrder_shouldLoadItemsWhileUserLookupIsInFlight() {
+        orderService = orderService(new SimpleAsyncTaskExecutor());
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1)));
+        CountDownLatch itemsLoaded = new CountDownLatch(1);
+
+        when(itemRepository.findAllById(Set.of(1L))).thenAnswer(invocation -> {
+            itemsLoaded.countDown();
+            return List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L));
+        });
+        when(userClient.getUserByEmail(USER_EMAIL)).thenAnswer(invocation -> {
+            assertThat(itemsLoaded.await(5, TimeUnit.SECONDS)).isTrue();
+            return USER_DTO;
+        });
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        GetOrderDto result = orderService.createOrder(createOrderDto);
+
+        assertThat(result.getUserDto()).isEqualTo(USER_DTO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createOrder_shouldCancelUserLookup_whenItemsAreMissing() throws Exception {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(9L, 1)));
+        AsyncTaskExecutor userLookupExecutor = mock(AsyncTaskExecutor.class);
+        Future<GetUserDto> lookup = mock(Future.class);
+        orderService = orderService(userLookupExecutor);
+
+        when(userLookupExecutor.submit(any(Callable.class))).thenReturn(lookup);
+        when(itemRepository.findAllById(Set.of(9L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderService.createOrder(createOrderDto))
+            .isInstanceOf(EntityNotFoundException.class);
+
+        verify(lookup).cancel(true);
+        verify(lookup, never()).get();
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrder_shouldNotWrite_whenUserLookupFails() {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1)));
+        Request request = Request.create(Request.HttpMethod.GET, "url", Map.of(), null, new RequestTemplate());
+
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L)));
+        when(userClient.getUserByEmail(USER_EMAIL))
+            .thenThrow(new FeignException.NotFound("Not found", request, null, null));
+
+        assertThatThrownBy(() -> orderService.createOrder(createOrderDto))
+            .isInstanceOf(FeignException.NotFound.class);
+
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void createOrder_shouldAwaitUserBeforeWriteTransactionStarts() {
+        CreateOrderDto createOrderDto = new CreateOrderDto(USER_EMAIL, List.of(new CreateOrderItemDto(1L, 1)));
+
+        when(userClient.getUserByEmail(USER_EMAIL)).thenReturn(USER_DTO);
+        when(itemRepository.findAllById(Set.of(1L))).thenReturn(List.of(new Item(1L, "Item 1", BigDecimal.TEN, 0L)));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
+
+        orderService.createOrder(createOrderDto);
+
+        InOrder inOrder = inOrder(userClient, transactionManager, orderRepository);
+        inOrder.verify(userClient).getUserByEmail(USER_EMAIL);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(orderRepository).save(any(Order.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
     @Test
     void getAllOrders_shouldReturnPageAndBatchFetchUsers() {
         Pageable pageable = PageRequest.of(0, 10);
-        Order order1 = new Order(); order1.setId(1L); order1.setUserId(101L);
-        Order order2 = new Order(); order2.setId(2L); order2.setUserId(102L);
-        Page<Order> page = new PageImpl<>(List.of(order1, order2), pageable, 2);
+        Page<Long> page = new PageImpl<>(List.of(1L, 2L), pageable, 2);
 
         GetUserDto user1 = new GetUserDto(101L, "U1", "S1", null, "e1", List.of());
         GetUserDto user2 = new GetUserDto(102L, "U2", "S2", null, "e2", List.of());
 
-        when(orderRepository.findAll(pageable)).thenReturn(page);
+        when(orderRepository.findAllIds(pageable)).thenReturn(page);
+        when(orderRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            row(2L, 102L, 20L, 7L),
+            row(1L, 101L, 10L, 7L),
+            row(1L, 101L, 11L, 8L)
+        ));
 
         when(userClient.getAllById(anyList())).thenReturn(List.of(user1, user2));
 
-        when(getOrderDtoWithoutUserMapper.toDto(any(Order.class))).thenReturn(ORDER_WITHOUT_USER_DTO);
-
         Page<GetOrderDto> result = orderService.getAllOrders(pageable);
 
         assertThat(result).hasSize(2);
         assertThat(result.getContent().get(0).getUserDto().id()).isEqualTo(101L);
+        assertThat(result.getContent().get(0).getOrderDtoWithoutUser().orderItems()).hasSize(2);
+        assertThat(result.getContent().get(1).getUserDto().id()).isEqualTo(102L);
+        assertThat(result.getContent().get(1).getOrderDtoWithoutUser().orderItems()).hasSize(1);
 
         verify(userClient).getAllById(anyList());
+        verify(orderRepository, never()).findAll(any(Pageable.class));
+        verifyNoInteractions(getOrderDtoWithoutUserMapper);
+    }
+
+    @Test
+    void getAllOrders_withCountMode_shouldAskCounterOnlyWhileMorePagesFollow() {
+        Pageable pageable = PageRequest.of(0, 1);
+        when(orderRepository.findAllIdsSlice(pageable)).thenReturn(new SliceImpl<>(List.of(1L), pageable, true));
+        when(orderRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(row(1L, USER_ID, 10L, 7L)));
+        when(userClient.getAllById(anyList())).thenReturn(List.of(USER_DTO));
+        when(orderCounter.countAll(CountMode.ESTIMATED)).thenReturn(12_400_000L);
+
+        GetCountedPageDto<GetOrderDto> result = orderService.getAllOrders(pageable, CountMode.ESTIMATED);
+
+        assertThat(result.content()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.totalElements()).isEqualTo(12_400_000L);
+        assertThat(result.countMode()).isEqualTo(CountMode.ESTIMATED);
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void getAllOrders_withCountMode_shouldReportExactTotal_onLastPage() {
+        Pageable pageable = PageRequest.of(3, 10);
+        when(orderRepository.findAllIdsSlice(pageable)).thenReturn(new SliceImpl<>(List.of(1L), pageable, false));
+        when(orderRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(row(1L, USER_ID, 10L, 7L)));
+        when(userClient.getAllById(anyList())).thenReturn(List.of(USER_DTO));
+
+        GetCountedPageDto<GetOrderDto> result = orderService.getAllOrders(pageable, CountMode.NONE);
+
+        assertThat(result.totalElements()).isEqualTo(31L);
+        assertThat(result.countMode()).isEqualTo(CountMode.EXACT);
+        verifyNoInteractions(orderCounter);
+    }
+
+    private OrderItemRow row(Long orderId, Long userId, Long orderItemId, Long itemId) {
+        return new OrderItemRow(orderId, Status.CREATED, Instant.now(), userId, 0L,
+            orderItemId, 1, itemId, "Item " + itemId, BigDecimal.TEN, 0L);
+    }
+
+    @Test
+    void exportOrders_shouldWriteChunksAndFetchUsersOncePerChunk() {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+        List<OrderItemRow> rows = new ArrayList<>();
+        for (long orderId = 1; orderId <= 501; orderId++) {
+            rows.add(row(orderId, 101L + orderId % 2, orderId * 10, 7L));
+            rows.add(row(orderId, 101L + orderId % 2, orderId * 10 + 1, 8L));
+        }
+        GetUserDto user1 = new GetUserDto(101L, "U1", "S1", null, "e1", List.of());
+        GetUserDto user2 = new GetUserDto(102L, "U2", "S2", null, "e2", List.of());
+        boolean[] closed = {false};
+
+        when(orderRepository.streamRowsByCreationDateBetween(from, to))
+            .thenReturn(rows.stream().onClose(() -> closed[0] = true));
+        when(userClient.getAllById(List.of(102L, 101L))).thenReturn(List.of(user1, user2));
+        when(userClient.getAllById(List.of(102L))).thenReturn(List.of(user2));
+
+        List<List<GetOrderDto>> chunks = new ArrayList<>();
+        orderService.exportOrders(from, to, chunks::add);
+
+        assertThat(chunks).extracting(List::size).containsExactly(500, 1);
+        assertThat(chunks.get(0).get(0).getOrderDtoWithoutUser().orderItems()).hasSize(2);
+        assertThat(chunks.get(0).get(0).getUserDto()).isEqualTo(user2);
+        assertThat(chunks.get(1).get(0).getOrderDtoWithoutUser().id()).isEqualTo(501L);
+        assertThat(closed[0]).isTrue();
+        verify(userClient, times(2)).getAllById(anyList());
+        verifyNoInteractions(getOrderDtoWithoutUserMapper);
+    }
+
+    @Test
+    void exportOrders_shouldReject_whenPeriodIsEmpty() {
+        Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+        assertThatThrownBy(() -> orderService.exportOrders(instant, instant, chunk -> { }))
+            .isInstanceOf(InvalidRequestException.class);
+
+        verifyNoInteractions(orderRepository, userClient);
+    }
+
+    @Test
+    void getAllOrders_withCursor_shouldReturnSliceWithNextCursor() {
+        Instant creationDate = Instant.parse("2025-11-16T10:15:30.123456Z");
+        OrderKeyView key1 = mock(OrderKeyView.class);
+        OrderKeyView key2 = mock(OrderKeyView.class);
+        when(key1.getId()).thenReturn(2L);
+        when(key2.getId()).thenReturn(1L);
+        Window<OrderKeyView> window = Window.from(
+            List.of(key1, key2),
+            index -> ScrollPosition.forward(Map.of("creationDate", creationDate, "id", index == 0 ? 2L : 1L)),
+            true
+        );
+        GetUserDto user = new GetUserDto(101L, "U1", "S1", null, "e1", List.of());
+
+        when(orderRepository.findKeysBy(ScrollPosition.keyset(), Limit.of(2), OrderCursor.SORT)).thenReturn(window);
+        when(orderRepository.findRowsByIdIn(List.of(2L, 1L))).thenReturn(List.of(
+            row(1L, 101L, 10L, 7L),
+            row(2L, 101L, 20L, 7L)
+        ));
+        when(userClient.getAllById(anyList())).thenReturn(List.of(user));
+
+        GetCursorPageDto<GetOrderDto> result = orderService.getAllOrders("", 2);
+
+        assertThat(result.content()).hasSize(2);
+        assertThat(result.content().get(0).getOrderDtoWithoutUser().id()).isEqualTo(2L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(OrderCursor.decode(result.nextCursor()))
+            .isEqualTo(ScrollPosition.forward(Map.of("creationDate", creationDate, "id", 1L)));
+        verify(orderRepository, never()).count();
+    }
+
+    @Test
+    void getAllOrders_withInvalidCursor_shouldThrow() {
+        assertThatThrownBy(() -> orderService.getAllOrders("not-a-cursor", 20))
+            .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
     void getOrdersByIds_shouldReturnPage() {
         Pageable pageable = PageRequest.of(0, 10);
         List<Long> ids = List.of(1L);
-        Order order = new Order(); order.setId(1L); order.setUserId(USER_ID);
-        Page<Order> page = new PageImpl<>(List.of(order), pageable, 1);
+        Page<Long> page = new PageImpl<>(List.of(1L), pageable, 1);
 
-        when(orderRepository.findAllByIdIn(ids, pageable)).thenReturn(page);
+        when(orderRepository.findIdsByIdIn(ids, pageable)).thenReturn(page);
+        when(orderRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(row(1L, USER_ID, 10L, 7L)));
 
         when(userClient.getAllById(anyList())).thenReturn(List.of(USER_DTO));
 
-        when(getOrderDtoWithoutUserMapper.toDto(order)).thenReturn(ORDER_WITHOUT_USER_DTO);
-
         Page<GetOrderDto> result = orderService.getOrdersByIds(ids, pageable);
 
         assertThat(result).hasSize(1);
@@ -165,24 +610,139 @@ class OrderServiceImplTest {
         order.setId(orderId);
         order.setUserId(USER_ID);
         order.setStatus(Status.CREATED);
+        order.setVersion(0L);
 
         Order savedOrder = new Order();
         savedOrder.setId(orderId);
         savedOrder.setUserId(USER_ID);
         savedOrder.setStatus(Status.SHIPPED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-        when(orderRepository.save(order)).thenReturn(savedOrder);
+        when(orderRepository.findUserIdById(orderId)).thenReturn(Optional.of(USER_ID));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.saveAndFlush(order)).thenReturn(savedOrder);
         when(userClient.getUserById(USER_ID)).thenReturn(USER_DTO);
 
         when(getOrderDtoWithoutUserMapper.toDto(savedOrder)).thenReturn(ORDER_WITHOUT_USER_DTO);
 
-        GetOrderDto result = orderService.updateOrderStatus(orderId, Status.SHIPPED);
+        GetOrderDto result = orderService.updateOrderStatus(orderId, Status.SHIPPED, 0L);
 
         assertThat(result.getOrderDtoWithoutUser()).isEqualTo(ORDER_WITHOUT_USER_DTO);
         assertThat(result.getUserDto()).isEqualTo(USER_DTO);
 
-        verify(orderRepository).save(order);
+        verify(orderRepository).saveAndFlush(order);
+        verify(orderOutbox).statusChanged(new OrderSnapshot(ORDER_WITHOUT_USER_DTO, USER_ID), Status.CREATED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateOrderStatus_shouldReject_whenVersionIsStale() throws Exception {
+        AsyncTaskExecutor userLookupExecutor = mock(AsyncTaskExecutor.class);
+        Future<GetUserDto> lookup = mock(Future.class);
+        orderService = orderService(userLookupExecutor);
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(USER_ID);
+        order.setStatus(Status.CREATED);
+        order.setVersion(4L);
+
+        when(userLookupExecutor.submit(any(Callable.class))).thenReturn(lookup);
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(USER_ID));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(1L, Status.SHIPPED, 3L))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(order.getStatus()).isEqualTo(Status.CREATED);
+        verify(orderRepository, never()).saveAndFlush(any());
+        verify(lookup).cancel(true);
+        verify(lookup, never()).get();
+    }
+
+    @Test
+    void userLookups_shouldRunOutsideTransactions_whenExecutorIsSaturated() throws Exception {
+        ThreadPoolTaskExecutor userLookupExecutor = new ExecutorConfig()
+            .userLookupExecutor(1, 0, new MockEnvironment());
+        userLookupExecutor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        List<Boolean> lookupsInTransaction = Collections.synchronizedList(new ArrayList<>());
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId(USER_ID);
+        order.setStatus(Status.CREATED);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            return null;
+        });
+        doAnswer(invocation -> {
+            inTransaction.set(false);
+            return null;
+        }).when(transactionManager).commit(any());
+        when(orderRepository.findUserIdById(1L)).thenReturn(Optional.of(USER_ID));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.saveAndFlush(order)).thenReturn(order);
+        when(getOrderDtoWithoutUserMapper.toDto(order)).thenReturn(ORDER_WITHOUT_USER_DTO);
+        when(userClient.getUserById(USER_ID)).thenAnswer(invocation -> {
+            lookupsInTransaction.add(inTransaction.get());
+            return USER_DTO;
+        });
+
+        try {
+            // occupy the only lookup thread; with no queue every later lookup is rejected
+            userLookupExecutor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            orderService = orderService(userLookupExecutor);
+
+            assertThat(orderService.getOrderById(1L).getUserDto()).isEqualTo(USER_DTO);
+            assertThat(orderService.updateOrderStatus(1L, Status.SHIPPED, null).getUserDto()).isEqualTo(USER_DTO);
+        } finally {
+            release.countDown();
+            userLookupExecutor.shutdown();
+        }
+
+        assertThat(lookupsInTransaction).containsExactly(false, false);
+    }
+
+    @Test
+    void getOrderVersion_shouldUseVersionOnlyQuery() {
+        when(orderRepository.findVersionById(1L)).thenReturn(Optional.of(7L));
+
+        assertThat(orderService.getOrderVersion(1L)).isEqualTo(7L);
+
+        verify(orderRepository, never()).findWithItemsById(any());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void updateOrderStatuses_shouldRunOneConditionalUpdateAndCountSkipped() {
+        UpdateOrderStatusBatchDto dto = new UpdateOrderStatusBatchDto(
+            List.of(1L, 2L, 2L, 3L), Status.PROCESSED, Status.SHIPPED);
+
+        when(orderRepository.updateStatusByIdIn(new Long[] {1L, 2L, 3L}, "PROCESSED", "SHIPPED")).thenReturn(2);
+
+        GetOrderStatusBatchResultDto result = orderService.updateOrderStatuses(dto);
+
+        assertThat(result).isEqualTo(new GetOrderStatusBatchResultDto(2, 1));
+        verify(orderRepository, never()).save(any());
+        verifyNoInteractions(userClient);
+    }
+
+    @Test
+    void updateOrderStatuses_shouldUpdateByStatusFilter_whenIdsAreAbsent() {
+        UpdateOrderStatusBatchDto dto = new UpdateOrderStatusBatchDto(null, Status.PROCESSED, Status.SHIPPED);
+
+        when(orderRepository.updateStatusByStatus("PROCESSED", "SHIPPED")).thenReturn(7);
+
+        GetOrderStatusBatchResultDto result = orderService.updateOrderStatuses(dto);
+
+        assertThat(result).isEqualTo(new GetOrderStatusBatchResultDto(7, 0));
+        verify(orderRepository, never()).updateStatusByIdIn(any(), any(), any());
     }
 
     @Test
@@ -201,6 +761,7 @@ class OrderServiceImplTest {
         assertThatThrownBy(() -> orderService.deleteOrder(orderId))
             .isInstanceOf(FeignException.Forbidden.class);
 
-        verify(orderRepository, never()).deleteById(any());
+        verify(orderRepository, never()).delete(any());
+        verifyNoInteractions(orderOutbox);
     }
 }
\ No newline at end of file